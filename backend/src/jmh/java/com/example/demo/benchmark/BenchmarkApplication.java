@@ -0,0 +1,98 @@
+package com.example.demo.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.playlist.PlaylistTrack;
+import com.example.demo.spotify.model.SpotifyTrack;
+
+// 벤치마크마다 실제 애플리케이션 컨텍스트(MyBatis 매퍼, 캐시, 트랜잭션, 변경 피드)를 H2 위에 띄움.
+// 웹 서버와 외부 호출은 띄우지 않음
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName) {
+        Map<String, String> properties = Map.ofEntries(
+                Map.entry("spring.datasource.url", "jdbc:h2:mem:" + databaseName + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"),
+                Map.entry("spring.datasource.driver-class-name", "org.h2.Driver"),
+                Map.entry("spring.datasource.username", "sa"),
+                Map.entry("spring.datasource.password", ""),
+                Map.entry("spring.sql.init.mode", "always"),
+                Map.entry("spring.sql.init.schema-locations", "classpath:benchmark-schema.sql"),
+                Map.entry("spring.jpa.hibernate.ddl-auto", "none"),
+                Map.entry("mybatis.configuration.log-impl", "org.apache.ibatis.logging.nologging.NoLoggingImpl"),
+                Map.entry("spotify.client-id", "benchmark"),
+                Map.entry("spotify.client-secret", "benchmark"),
+                Map.entry("spotify.redirect-uri", "http://localhost/callback"),
+                Map.entry("front-uri", "http://localhost"),
+                Map.entry("virtual-threads.pinning-monitor.enabled", "false"),
+                Map.entry("logging.level.root", "WARN"));
+        // application.properties 보다 우선하도록 명령행 인자로 넘김
+        String[] args = properties.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+    }
+
+    // playlistId 에 size 곡을 한 번에 넣음
+    static void seedPlaylist(ConfigurableApplicationContext context, int playlistId, int size) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        jdbc.update("INSERT INTO playlist (id, user_id, title) VALUES (?, ?, ?)", playlistId, "bench-user", "bench");
+        List<Object[]> catalog = new ArrayList<>(size);
+        List<Object[]> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            PlaylistTrack track = playlistTrack(playlistId, i);
+            catalog.add(new Object[] {track.getTrackId(), track.getTitle(), track.getArtistIds(), track.getArtistNames(),
+                    track.getPreviewUrl(), track.getAlbumImageUrl(), track.getDurationMs()});
+            rows.add(new Object[] {track.getPlaylistId(), track.getTrackId(), i + 1});
+        }
+        jdbc.batchUpdate("MERGE INTO track (track_id, title, artist_ids, artist_names, preview_url, album_image_url, "
+                + "duration_ms) KEY (track_id) VALUES (?, ?, ?, ?, ?, ?, ?)", catalog);
+        jdbc.batchUpdate("INSERT INTO playlist_tracks (playlist_id, track_id, position) VALUES (?, ?, ?)", rows);
+    }
+
+    static PlaylistTrack playlistTrack(int playlistId, int i) {
+        PlaylistTrack track = new PlaylistTrack();
+        track.setId(i + 1);
+        track.setPlaylistId(playlistId);
+        track.setTrackId(trackId(i));
+        track.setTitle("Track " + i);
+        track.setArtistIds("artist" + (i % 500) + ",artist" + (i % 97));
+        track.setArtistNames("Artist " + (i % 500) + ",Artist " + (i % 97));
+        track.setPreviewUrl("https://p.scdn.co/mp3-preview/" + trackId(i));
+        track.setAlbumImageUrl("https://i.scdn.co/image/" + trackId(i % 2000));
+        track.setDurationMs(180_000 + i % 60_000);
+        track.setPosition(i + 1);
+        return track;
+    }
+
+    static SpotifyTrack spotifyTrack(String recommendationId, int i) {
+        SpotifyTrack track = new SpotifyTrack();
+        track.setId(i + 1);
+        track.setRecommendationId(recommendationId);
+        track.setTrackId(trackId(i));
+        track.setTitle("Track " + i);
+        track.setArtistIds("artist" + (i % 500));
+        track.setArtistNames("Artist " + (i % 500));
+        track.setPreviewUrl("https://p.scdn.co/mp3-preview/" + trackId(i));
+        track.setAlbumImageUrl("https://i.scdn.co/image/" + trackId(i % 2000));
+        track.setDurationMs(180_000 + i % 60_000);
+        return track;
+    }
+
+    // Spotify 트랙 id 와 같은 22자 base62 형태
+    private static String trackId(int i) {
+        return String.format("%022d", i).replace('0', 'a');
+    }
+}
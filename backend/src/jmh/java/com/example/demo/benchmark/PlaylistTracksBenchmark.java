@@ -0,0 +1,69 @@
+package com.example.demo.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.demo.playlist.PlaylistRepository;
+import com.example.demo.playlist.PlaylistService;
+import com.example.demo.playlist.PlaylistTrack;
+import com.github.benmanes.caffeine.cache.Cache;
+
+// 플레이리스트 곡 목록 조회. mapper = 매번 DB, serviceCached = 캐시 적중, serviceMiss = 캐시 비우고 조회
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PlaylistTracksBenchmark {
+
+    private static final int PLAYLIST_ID = 1;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int playlistSize;
+
+    private ConfigurableApplicationContext context;
+    private PlaylistRepository playlistRepository;
+    private PlaylistService playlistService;
+    private Cache<String, List<PlaylistTrack>> playlistTracksCache;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        context = BenchmarkApplication.start("playlist" + playlistSize);
+        BenchmarkApplication.seedPlaylist(context, PLAYLIST_ID, playlistSize);
+        playlistRepository = context.getBean(PlaylistRepository.class);
+        playlistService = context.getBean(PlaylistService.class);
+        playlistTracksCache = (Cache<String, List<PlaylistTrack>>) context.getBean("playlistTracksCache");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<PlaylistTrack> mapper() {
+        return playlistRepository.getPlaylistTracksById(String.valueOf(PLAYLIST_ID));
+    }
+
+    @Benchmark
+    public List<PlaylistTrack> serviceCached() {
+        return playlistService.getPlaylistTracksById(String.valueOf(PLAYLIST_ID));
+    }
+
+    @Benchmark
+    public List<PlaylistTrack> serviceMiss() {
+        playlistTracksCache.invalidate(String.valueOf(PLAYLIST_ID));
+        return playlistService.getPlaylistTracksById(String.valueOf(PLAYLIST_ID));
+    }
+}
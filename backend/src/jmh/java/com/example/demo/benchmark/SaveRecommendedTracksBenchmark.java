@@ -0,0 +1,56 @@
+package com.example.demo.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.demo.recommendation.RecommendationService;
+import com.example.demo.spotify.model.SpotifyTrack;
+
+// 추천 결과 저장 (track 카탈로그 upsert + 다중 VALUES INSERT + 변경 피드 발행 + 캐시 무효화). 호출마다 새 추천 id 사용.
+// 같은 곡 목록을 반복 저장하므로 두 번째 호출부터는 카탈로그 캐시에 걸려 track upsert 가 생략됨
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SaveRecommendedTracksBenchmark {
+
+    @Param({"20", "100", "1000"})
+    public int tracksPerRecommendation;
+
+    private ConfigurableApplicationContext context;
+    private RecommendationService recommendationService;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("recommendation" + tracksPerRecommendation);
+        recommendationService = context.getBean(RecommendationService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void saveRecommendedTracks() {
+        String recommendationId = "bench-" + sequence++;
+        List<SpotifyTrack> tracks = new ArrayList<>(tracksPerRecommendation);
+        for (int i = 0; i < tracksPerRecommendation; i++) {
+            tracks.add(BenchmarkApplication.spotifyTrack(recommendationId, i));
+        }
+        recommendationService.saveRecommendedTracks(tracks);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.demo.benchmark;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.example.demo.similarity.HnswIndex;
+import com.example.demo.similarity.VectorStore;
+
+// 유사 곡 검색 한 번의 시간: HNSW (ef 별) vs 전체 비교.
+// 벡터는 군집이 있는 합성 데이터 (실제 트랙처럼 같은 아티스트/플레이리스트끼리 몰림).
+// recall@10 (전체 비교 결과 중 HNSW 가 찾은 비율) 은 Setup 에서 계산해 출력함
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SimilaritySearchBenchmark {
+
+    private static final int DIMS = 73; // similarity.hash-dims 64 + 오디오 특성 9
+    private static final int K = 10;
+    private static final int QUERIES = 256;
+
+    @Param({"100000"})
+    private int tracks;
+
+    @Param({"32", "64", "128"})
+    private int ef;
+
+    private VectorStore vectors;
+    private HnswIndex index;
+    private float[][] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        int clusters = Math.max(1, tracks / 200);
+        float[][] centers = new float[clusters][DIMS];
+        for (float[] center : centers) {
+            for (int d = 0; d < DIMS; d++) {
+                center[d] = (float) random.nextGaussian();
+            }
+        }
+        vectors = new VectorStore(DIMS, tracks);
+        for (int i = 0; i < tracks; i++) {
+            int node = vectors.append();
+            float[] center = centers[random.nextInt(clusters)];
+            for (int d = 0; d < DIMS; d++) {
+                vectors.set(node, d, center[d] + (float) random.nextGaussian() * 0.6f);
+            }
+            vectors.scale(node, 0, DIMS, 1f);
+        }
+        long started = System.currentTimeMillis();
+        index = HnswIndex.build(vectors, 16, 100, 1);
+        long buildMillis = System.currentTimeMillis() - started;
+
+        queries = new float[QUERIES][];
+        for (int q = 0; q < QUERIES; q++) {
+            queries[q] = vectors.copy(random.nextInt(tracks));
+        }
+        int hits = 0;
+        for (float[] query : queries) {
+            Set<Integer> exact = new HashSet<>();
+            HnswIndex.exactSearch(vectors, query, K).forEach(n -> exact.add(n.node()));
+            hits += (int) index.search(query, K, ef).stream().filter(n -> exact.contains(n.node())).count();
+        }
+        System.out.printf("%nhnsw tracks=%d ef=%d build=%dms recall@%d=%.3f%n",
+                tracks, ef, buildMillis, K, hits / (double) (QUERIES * K));
+    }
+
+    @Benchmark
+    public List<HnswIndex.Neighbor> hnsw() {
+        return index.search(nextQuery(), K, ef);
+    }
+
+    @Benchmark
+    public List<HnswIndex.Neighbor> bruteForce() {
+        return HnswIndex.exactSearch(vectors, nextQuery(), K);
+    }
+
+    private float[] nextQuery() {
+        next = (next + 1) % QUERIES;
+        return queries[next];
+    }
+}
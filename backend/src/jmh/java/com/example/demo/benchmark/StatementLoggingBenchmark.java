@@ -0,0 +1,129 @@
+package com.example.demo.benchmark;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.example.demo.logging.RedactingJsonEncoder;
+import com.example.demo.logging.StatementLogSamplingFilter;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+
+// 구문 하나당 요청 스레드가 로깅에 쓰는 시간 (MyBatis 가 쓰는 3줄: Preparing / Parameters / Total).
+// stdOut        : 이전 설정 (StdOutImpl, System.out.println 동기 출력)
+// syncPattern   : 이전 logback 설정 (동기 ConsoleAppender + 패턴)
+// asyncSampled  : prod 프로필 (샘플링 turbo filter + 비동기 큐 + JSON/토큰 가림)
+// 출력은 모두 버려지는 스트림으로 보내 콘솔 속도 대신 요청 스레드 쪽 비용만 비교함
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class StatementLoggingBenchmark {
+
+    private static final String STATEMENT = "mybatis.com.example.demo.playlist.PlaylistRepository.getPlaylistTracksById";
+    private static final String SQL = "SELECT id, playlist_id, track_id, title, artist_ids, artist_names, preview_url, "
+            + "album_image_url, duration_ms, position FROM playlist_tracks WHERE playlist_id = ? ORDER BY position, id";
+
+    private PrintStream stdOut;
+    private LoggerContext syncContext;
+    private Logger syncLogger;
+    private LoggerContext asyncContext;
+    private Logger asyncLogger;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        stdOut = new PrintStream(OutputStream.nullOutputStream(), true);
+
+        syncContext = new LoggerContext();
+        PatternLayoutEncoder pattern = new PatternLayoutEncoder();
+        pattern.setContext(syncContext);
+        pattern.setPattern("%d{yyyy-MM-dd HH:mm:ss} [%thread] %-5level %logger{36} - %msg%n");
+        pattern.start();
+        OutputStreamAppender<ILoggingEvent> syncAppender = nullAppender(syncContext, pattern);
+        syncLogger = syncContext.getLogger(STATEMENT);
+        syncLogger.setLevel(ch.qos.logback.classic.Level.DEBUG);
+        syncLogger.addAppender(syncAppender);
+
+        asyncContext = new LoggerContext();
+        StatementLogSamplingFilter sampling = new StatementLogSamplingFilter();
+        sampling.setContext(asyncContext);
+        sampling.setSampleRate(100);
+        sampling.start();
+        asyncContext.addTurboFilter(sampling);
+        RedactingJsonEncoder json = new RedactingJsonEncoder();
+        json.setContext(asyncContext);
+        json.start();
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(asyncContext);
+        async.setQueueSize(8192);
+        async.setNeverBlock(true);
+        async.addAppender(nullAppender(asyncContext, json));
+        async.start();
+        asyncLogger = asyncContext.getLogger(STATEMENT);
+        asyncLogger.setLevel(ch.qos.logback.classic.Level.DEBUG);
+        asyncLogger.addAppender(async);
+    }
+
+    private static OutputStreamAppender<ILoggingEvent> nullAppender(LoggerContext context,
+            Encoder<ILoggingEvent> encoder) {
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        syncContext.stop();
+        asyncContext.stop();
+    }
+
+    @Benchmark
+    public void stdOut() {
+        stdOut.println("==>  Preparing: " + SQL);
+        stdOut.println("==> Parameters: 1(String)");
+        stdOut.println("<==      Total: 250");
+    }
+
+    @Benchmark
+    public void syncPattern() {
+        logStatement(syncLogger);
+    }
+
+    @Benchmark
+    public void asyncSampled() {
+        logStatement(asyncLogger);
+    }
+
+    // MyBatis Slf4jImpl 과 같은 순서로 isDebugEnabled 확인 뒤 기록
+    private static void logStatement(Logger logger) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("==>  Preparing: " + SQL);
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("==> Parameters: 1(String)");
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("<==      Total: 250");
+        }
+    }
+}
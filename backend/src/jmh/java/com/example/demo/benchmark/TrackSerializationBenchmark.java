@@ -0,0 +1,56 @@
+package com.example.demo.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.demo.playlist.PlaylistTrack;
+import com.example.demo.spotify.model.SpotifyTrack;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// 응답 직렬화 비용. ObjectMapper 는 Spring MVC 와 같은 빌더 설정
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TrackSerializationBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<PlaylistTrack> playlistTracks;
+    private List<SpotifyTrack> spotifyTracks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        playlistTracks = new ArrayList<>(size);
+        spotifyTracks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            playlistTracks.add(BenchmarkApplication.playlistTrack(1, i));
+            spotifyTracks.add(BenchmarkApplication.spotifyTrack("bench", i));
+        }
+    }
+
+    @Benchmark
+    public byte[] playlistTracks() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(playlistTracks);
+    }
+
+    @Benchmark
+    public byte[] spotifyTracks() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(spotifyTracks);
+    }
+}
@@ -0,0 +1,108 @@
+-- JMH 벤치마크용 H2 (MySQL 모드) 스키마. 운영 스키마 + db/*.sql 변경분을 합친 최소 형태
+CREATE TABLE IF NOT EXISTS playlist (
+    id        INT AUTO_INCREMENT PRIMARY KEY,
+    user_id   VARCHAR(100) NOT NULL,
+    title     VARCHAR(255),
+    create_dt TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS track (
+    track_id        VARCHAR(100) NOT NULL PRIMARY KEY,
+    title           VARCHAR(500),
+    artist_ids      VARCHAR(1000),
+    artist_names    VARCHAR(1000),
+    preview_url     VARCHAR(1000),
+    album_image_url VARCHAR(1000),
+    duration_ms     INT,
+    update_dt       TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS playlist_tracks (
+    id              INT AUTO_INCREMENT PRIMARY KEY,
+    playlist_id     INT NOT NULL,
+    track_id        VARCHAR(100) NOT NULL,
+    position        INT NOT NULL DEFAULT 0
+);
+
+CREATE INDEX IF NOT EXISTS idx_playlist_tracks_playlist_id_position ON playlist_tracks (playlist_id, position, id);
+
+CREATE TABLE IF NOT EXISTS playlist_summary (
+    playlist_id   INT NOT NULL PRIMARY KEY,
+    track_count   INT NOT NULL DEFAULT 0,
+    thumbnail_url TEXT,
+    update_dt     TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS recommendation (
+    recommendation_id   VARCHAR(100) PRIMARY KEY,
+    user_id             VARCHAR(100),
+    unique_id           VARCHAR(100),
+    title               VARCHAR(255),
+    recommendation_type VARCHAR(20),
+    track_ids           TEXT,
+    artist_ids          TEXT,
+    artist_names        TEXT,
+    artist_genres       TEXT,
+    album_image_url     VARCHAR(1000),
+    seed_fingerprint    CHAR(64),
+    result_id           VARCHAR(100),
+    create_dt           TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    update_dt           TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_recommendation_result_id ON recommendation (result_id);
+
+CREATE TABLE IF NOT EXISTS recommendation_result (
+    seed_fingerprint CHAR(64) NOT NULL PRIMARY KEY,
+    result_id        VARCHAR(100) NOT NULL,
+    create_dt        TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expire_dt        TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_recommendation_result_result_id ON recommendation_result (result_id);
+
+CREATE TABLE IF NOT EXISTS recommendation_tracks (
+    id                INT AUTO_INCREMENT PRIMARY KEY,
+    track_id          VARCHAR(100) NOT NULL,
+    recommendation_id VARCHAR(100) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_recommendation_tracks_recommendation_id_id ON recommendation_tracks (recommendation_id, id);
+
+CREATE TABLE IF NOT EXISTS track_artist (
+    playlist_track_id INT NOT NULL,
+    playlist_id       INT NOT NULL,
+    user_id           VARCHAR(100) NOT NULL,
+    track_id          VARCHAR(100) NOT NULL,
+    artist_id         VARCHAR(100) NOT NULL,
+    artist_name       VARCHAR(255),
+    ordinal           SMALLINT NOT NULL,
+    PRIMARY KEY (playlist_track_id, ordinal)
+);
+
+CREATE INDEX IF NOT EXISTS idx_track_artist_artist_user ON track_artist (artist_id, user_id, playlist_id);
+
+CREATE TABLE IF NOT EXISTS recommendation_seed (
+    recommendation_id VARCHAR(100) NOT NULL,
+    user_id           VARCHAR(100),
+    seed_type         VARCHAR(10) NOT NULL,
+    seed_value        VARCHAR(255) NOT NULL,
+    ordinal           SMALLINT NOT NULL,
+    PRIMARY KEY (recommendation_id, seed_type, ordinal)
+);
+
+CREATE INDEX IF NOT EXISTS idx_recommendation_seed_value_user ON recommendation_seed (seed_type, seed_value, user_id);
+
+CREATE TABLE IF NOT EXISTS track_audio_feature (
+    track_id         VARCHAR(100) NOT NULL PRIMARY KEY,
+    danceability     FLOAT,
+    energy           FLOAT,
+    valence          FLOAT,
+    acousticness     FLOAT,
+    instrumentalness FLOAT,
+    speechiness      FLOAT,
+    liveness         FLOAT,
+    tempo            FLOAT,
+    loudness         FLOAT,
+    update_dt        TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
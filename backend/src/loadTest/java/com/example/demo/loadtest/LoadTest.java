@@ -0,0 +1,157 @@
+package com.example.demo.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 닫힌 루프 부하 생성기. concurrency 개의 가상 스레드가 duration 동안 paths 를 돌아가며 호출하고
+// 처리량과 p50/p99 지연을 출력, 결과를 JSON 한 줄로 out 파일에 덧붙임.
+// 플랫폼 스레드 / 가상 스레드 비교: 서버를 VIRTUAL_THREADS_ENABLED=false 와 true 로 각각 띄우고 같은 인자로 실행
+//   ./gradlew loadTest -PloadTest.args="--base-url=http://localhost:8080 --paths=/api/playlist/1/tracks,/api/history/u1 --concurrency=400 --duration=60s"
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        List<String> paths = List.of(options.getOrDefault("paths", "/api/playlist/1/tracks").split(","));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        Duration duration = parseDuration(options.getOrDefault("duration", "30s"));
+        Duration warmup = parseDuration(options.getOrDefault("warmup", "10s"));
+        Path out = Path.of(options.getOrDefault("out", "build/loadtest/results.jsonl"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        List<HttpRequest> requests = paths.stream()
+                .map(path -> HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).GET().build())
+                .toList();
+
+        System.out.printf("warmup %s, concurrency %d%n", warmup, concurrency);
+        run(client, requests, concurrency, warmup);
+        System.out.printf("measuring %s%n", duration);
+        Result result = run(client, requests, concurrency, duration);
+
+        String serverThreads = fetch(client, baseUrl + "/api/runtime/threads");
+        String json = String.format(
+                "{\"time\":\"%s\",\"label\":\"%s\",\"concurrency\":%d,\"durationSec\":%d,\"requests\":%d,\"errors\":%d,"
+                        + "\"throughput\":%.1f,\"p50Ms\":%.2f,\"p99Ms\":%.2f,\"maxMs\":%.2f,\"server\":%s}",
+                Instant.now(), options.getOrDefault("label", ""), concurrency, duration.toSeconds(),
+                result.latenciesNanos.length, result.errors, result.latenciesNanos.length / (double) duration.toSeconds(),
+                percentile(result.latenciesNanos, 0.50), percentile(result.latenciesNanos, 0.99),
+                percentile(result.latenciesNanos, 1.0), serverThreads == null ? "null" : serverThreads);
+        System.out.println(json);
+        Files.createDirectories(out.toAbsolutePath().getParent());
+        Files.writeString(out, json + System.lineSeparator(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private record Result(long[] latenciesNanos, long errors) {
+    }
+
+    private static Result run(HttpClient client, List<HttpRequest> requests, int concurrency, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<Future<long[]>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                int offset = w;
+                workers.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    for (int i = offset; System.nanoTime() < deadline; i++) {
+                        HttpRequest request = requests.get(i % requests.size());
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+        int total = 0;
+        List<long[]> parts = new ArrayList<>();
+        for (Future<long[]> worker : workers) {
+            long[] part = worker.get();
+            parts.add(part);
+            total += part.length;
+        }
+        long[] all = new long[total];
+        int position = 0;
+        for (long[] part : parts) {
+            System.arraycopy(part, 0, all, position, part.length);
+            position += part.length;
+        }
+        Arrays.sort(all);
+        return new Result(all, errors.get());
+    }
+
+    private static double percentile(long[] sortedNanos, double p) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(p * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(0, index)] / 1_000_000d;
+    }
+
+    private static String fetch(HttpClient client, String url) {
+        try {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            return response.statusCode() == 200 ? response.body() : null;
+        } catch (IOException | InterruptedException e) {
+            return null;
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    // 30s, 500ms, 2m
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.demo.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 연결 수 대 힙 사용량 soak 테스트 (/api/push). 쉬는 SSE 연결을 steps 단계까지 늘리며 단계마다 settle 만큼 기다린 뒤
+// 서버 /actuator/prometheus 의 push_connections, 힙 사용량, GC 후 live data, 스레드 수를 읽어 표로 출력하고
+// 결과를 JSON 한 줄로 out 파일에 덧붙임. perConnKB 는 연결을 열기 전 대비 live data 증가분 / 늘어난 서버 연결 수 (GC 주기에 따라 흔들림).
+// 연결은 HttpClient 비동기 요청 (스레드 없이 selector 하나) 으로 열고, 받은 줄 수만 셈.
+// 클라이언트 IP 하나당 임시 포트 (~28k) 와 ulimit -n 이 한계이므로 그보다 많이 보려면 여러 머신에서 나눠 실행
+//   ./gradlew sseSoak -PsseSoak.args="--base-url=http://localhost:8080 --steps=1000,5000,10000,20000 --settle=30s"
+public class SseSoakTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        List<Integer> steps = new ArrayList<>();
+        for (String step : options.getOrDefault("steps", "1000,5000,10000,20000").split(",")) {
+            steps.add(Integer.parseInt(step.trim()));
+        }
+        // 같은 사용자의 연결은 push.max-connections-per-user 를 넘지 않게 나눔
+        int connectionsPerUser = Integer.parseInt(options.getOrDefault("connections-per-user", "1"));
+        int rampPerSecond = Integer.parseInt(options.getOrDefault("ramp-rate", "1000"));
+        Duration settle = parseDuration(options.getOrDefault("settle", "30s"));
+        Path out = Path.of(options.getOrDefault("out", "build/loadtest/sse-soak.jsonl"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        Counters counters = new Counters();
+        Queue<Flow.Subscription> subscriptions = new ConcurrentLinkedQueue<>();
+
+        Map<String, Double> baseline = sample(client, baseUrl);
+        if (baseline == null) {
+            System.err.println("cannot read " + baseUrl + "/actuator/prometheus");
+            return;
+        }
+        System.out.printf("%10s %10s %10s %10s %12s %10s %10s%n",
+                "target", "open", "server", "heapMB", "liveDataMB", "threads", "perConnKB");
+        List<String> rows = new ArrayList<>();
+        int opened = 0;
+        for (int target : steps) {
+            long rampStarted = System.nanoTime();
+            int rampFrom = opened;
+            for (; opened < target; opened++) {
+                String userId = "soak-" + (opened / connectionsPerUser);
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/push/" + userId))
+                        .header("Accept", "text/event-stream")
+                        .GET()
+                        .build();
+                client.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(new LineCounter(counters, subscriptions)))
+                        .whenComplete((response, error) -> {
+                            if (error != null || response.statusCode() != 200) {
+                                counters.failed.incrementAndGet();
+                            }
+                        });
+                // ramp-rate 를 넘지 않게 연결 속도를 맞춤
+                long aheadNanos = (long) ((opened + 1 - rampFrom) * 1e9 / rampPerSecond) - (System.nanoTime() - rampStarted);
+                if (aheadNanos > 0) {
+                    Thread.sleep(Duration.ofNanos(aheadNanos));
+                }
+            }
+            Thread.sleep(settle);
+            Map<String, Double> metrics = sample(client, baseUrl);
+            if (metrics == null) {
+                System.err.println("metrics unavailable at " + target + " connections");
+                break;
+            }
+            double server = metrics.getOrDefault("push_connections", 0d);
+            double heap = metrics.getOrDefault("heap", 0d);
+            double liveData = metrics.getOrDefault("jvm_gc_live_data_size_bytes", 0d);
+            double threads = metrics.getOrDefault("jvm_threads_live_threads", 0d);
+            double added = server - baseline.getOrDefault("push_connections", 0d);
+            double perConnKb = added > 0 ? (liveData - baseline.getOrDefault("jvm_gc_live_data_size_bytes", 0d)) / added / 1024 : 0;
+            System.out.printf("%10d %10d %10.0f %10.1f %12.1f %10.0f %10.2f%n",
+                    target, counters.open.get(), server, heap / 1048576, liveData / 1048576, threads, perConnKb);
+            rows.add(String.format("{\"target\":%d,\"open\":%d,\"failed\":%d,\"serverConnections\":%.0f,\"heapBytes\":%.0f,"
+                            + "\"liveDataBytes\":%.0f,\"threads\":%.0f,\"perConnKB\":%.2f}",
+                    target, counters.open.get(), counters.failed.get(), server, heap, liveData, threads, perConnKb));
+        }
+        System.out.printf("lines received %d, failed %d%n", counters.lines.get(), counters.failed.get());
+
+        String json = String.format("{\"time\":\"%s\",\"label\":\"%s\",\"settleSec\":%d,\"steps\":[%s]}",
+                Instant.now(), options.getOrDefault("label", ""), settle.toSeconds(), String.join(",", rows));
+        System.out.println(json);
+        Files.createDirectories(out.toAbsolutePath().getParent());
+        Files.writeString(out, json + System.lineSeparator(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+        subscriptions.forEach(Flow.Subscription::cancel);
+        client.shutdownNow();
+    }
+
+    private static class Counters {
+        // 첫 줄 (초기 heartbeat) 을 받은 연결 수
+        final AtomicInteger open = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final AtomicInteger lines = new AtomicInteger();
+    }
+
+    private static class LineCounter implements Flow.Subscriber<String> {
+
+        private final Counters counters;
+        private final Queue<Flow.Subscription> subscriptions;
+        private boolean counted;
+
+        LineCounter(Counters counters, Queue<Flow.Subscription> subscriptions) {
+            this.counters = counters;
+            this.subscriptions = subscriptions;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscriptions.add(subscription);
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            counters.lines.incrementAndGet();
+            if (!counted) {
+                counted = true;
+                counters.open.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            onComplete();
+        }
+
+        // 서버가 닫은 연결 (타임아웃, 사용자당 최대 연결 초과) 은 open 에서 빠짐
+        @Override
+        public void onComplete() {
+            if (counted) {
+                counted = false;
+                counters.open.decrementAndGet();
+            }
+        }
+    }
+
+    // push_connections, jvm_gc_live_data_size_bytes, jvm_threads_live_threads 와 heap (area="heap" 인 jvm_memory_used_bytes 합)
+    private static Map<String, Double> sample(HttpClient client, String baseUrl) {
+        String body;
+        try {
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/prometheus")).timeout(Duration.ofSeconds(30)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return null;
+            }
+            body = response.body();
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        Map<String, Double> metrics = new HashMap<>();
+        for (String line : body.split("\n")) {
+            if (line.startsWith("#") || line.isBlank()) {
+                continue;
+            }
+            int space = line.lastIndexOf(' ');
+            String name = line.substring(0, space);
+            double value = Double.parseDouble(line.substring(space + 1));
+            if (name.startsWith("jvm_memory_used_bytes{") && name.contains("area=\"heap\"")) {
+                metrics.merge("heap", value, Double::sum);
+            } else if (name.equals("push_connections") || name.equals("jvm_gc_live_data_size_bytes")
+                    || name.equals("jvm_threads_live_threads")) {
+                metrics.put(name, value);
+            }
+        }
+        return metrics;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    // 30s, 500ms, 2m
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+}
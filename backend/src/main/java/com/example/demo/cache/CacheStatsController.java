@@ -0,0 +1,44 @@
+package com.example.demo.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheStatsController {
+
+    // 빈 이름 -> 캐시
+    @Autowired
+    private Map<String, Cache<?, ?>> caches;
+
+    // 캐시 크기 조정용 적중/미스/축출 통계
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Map<String, Object>>> getStats() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        caches.forEach((name, cache) -> {
+            CacheStats stats = cache.stats();
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("hitCount", stats.hitCount());
+            values.put("missCount", stats.missCount());
+            values.put("hitRate", stats.hitRate());
+            values.put("evictionCount", stats.evictionCount());
+            values.put("evictionWeight", stats.evictionWeight());
+            values.put("estimatedSize", cache.estimatedSize());
+            cache.policy().eviction().ifPresent(eviction -> {
+                values.put("weightedSize", eviction.weightedSize().orElse(0L));
+                values.put("maximumWeight", eviction.getMaximum());
+            });
+            result.put(name, values);
+        });
+        return ResponseEntity.ok(result);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.demo.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+
+// 조회 리소스별 버전 카운터. 쓰기 메서드가 커밋 후 bump 하고, 컨트롤러는 이 값으로 ETag 를 만들어
+// If-None-Match 가 같으면 DB 를 거치지 않고 304 를 돌려줌.
+// 카운터는 이 프로세스 안에만 있어 다른 노드를 거친 쓰기를 모름. 노드가 여럿이면 낡은 데이터에 304 를 줄 수 있으므로
+// 단일 노드 배포에서만 etag.enabled=true 로 켬 (꺼져 있으면 etag 가 null 이고 항상 200)
+@Component
+public class ResourceVersions {
+
+    // 서버가 재시작되면 이전 ETag 가 절대 일치하지 않도록 기동 시각을 섞음
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    // 모든 키가 공유하는 증가 값. 축출됐다가 다시 생긴 키도 예전에 쓴 적 없는 버전을 받음
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Value("${etag.enabled:false}")
+    private boolean enabled;
+
+    @Value("${etag.max-resources:200000}")
+    private long maxResources;
+
+    private Cache<String, Long> versions;
+
+    @PostConstruct
+    void init() {
+        versions = Caffeine.newBuilder().maximumSize(maxResources).build();
+    }
+
+    public static String playlistTracks(String playlistId) {
+        return "playlist-tracks:" + playlistId;
+    }
+
+    public static String recommendationTracks(String recommendationId) {
+        return "recommendation-tracks:" + recommendationId;
+    }
+
+    public static String history(String userId) {
+        return historyPrefix() + userId;
+    }
+
+    // DB 를 읽기 전에 호출해야 함 (읽는 도중 바뀌면 다음 요청에서 버전이 달라져 다시 내려받음). 꺼져 있으면 null
+    public String etag(String resource) {
+        if (!enabled) {
+            return null;
+        }
+        long version = versions.get(resource, key -> sequence.incrementAndGet());
+        return "\"" + epoch + "-" + Long.toString(version, 36) + "\"";
+    }
+
+    // 커밋 후에 호출해야 함
+    public void bump(String resource) {
+        if (!enabled) {
+            return;
+        }
+        versions.put(resource, sequence.incrementAndGet());
+    }
+
+    // prefix 로 시작하는 모든 리소스를 bump (배치 정리처럼 대상 키를 일일이 모를 때). 커밋 후에 호출해야 함
+    public void bumpAll(String prefix) {
+        if (!enabled) {
+            return;
+        }
+        versions.asMap().replaceAll((key, version) -> key.startsWith(prefix) ? sequence.incrementAndGet() : version);
+    }
+
+    public static String historyPrefix() {
+        return "history:";
+    }
+}
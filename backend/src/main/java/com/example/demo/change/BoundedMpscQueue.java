@@ -0,0 +1,82 @@
+package com.example.demo.change;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// 락 없는 고정 크기 링 버퍼 (생산자 여럿, 소비자 하나).
+// 슬롯마다 시퀀스 번호를 두어 CAS 한 번으로 자리를 잡고, 가득 차면 기다리지 않고 false 반환.
+public class BoundedMpscQueue<E> {
+
+    private final AtomicReferenceArray<E> buffer;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // 소비자 스레드만 접근
+    private long head;
+
+    public BoundedMpscQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        buffer = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        mask = size - 1;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public boolean offer(E element) {
+        long position = tail.get();
+        int index;
+        while (true) {
+            index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+        buffer.set(index, element);
+        sequences.set(index, position + 1);
+        return true;
+    }
+
+    // 소비자 스레드 전용
+    public E poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        E element = buffer.get(index);
+        buffer.set(index, null);
+        sequences.set(index, head + mask + 1);
+        head++;
+        return element;
+    }
+
+    // 소비자 스레드 전용. 최대 limit 개를 꺼내고 꺼낸 개수 반환
+    public int drainTo(List<? super E> sink, int limit) {
+        int drained = 0;
+        E element;
+        while (drained < limit && (element = poll()) != null) {
+            sink.add(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    public long size() {
+        return Math.max(0, tail.get() - head);
+    }
+}
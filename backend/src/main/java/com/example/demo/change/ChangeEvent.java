@@ -0,0 +1,33 @@
+package com.example.demo.change;
+
+import java.util.List;
+
+import com.example.demo.playlist.PlaylistTrack;
+import com.example.demo.recommendation.Recommendation;
+import com.example.demo.spotify.model.SpotifyTrack;
+
+// 서비스 계층의 쓰기 작업을 나타내는 변경 이벤트
+public sealed interface ChangeEvent {
+
+    record PlaylistCreated(String ownerId, String playlistId) implements ChangeEvent {
+    }
+
+    // 한 플레이리스트에 한 번에 (일괄 API 는 chunk 단위로) 추가/삭제된 곡
+    record PlaylistTracksAdded(List<PlaylistTrack> tracks) implements ChangeEvent {
+    }
+
+    record PlaylistTracksRemoved(List<PlaylistTrack> tracks) implements ChangeEvent {
+    }
+
+    record PlaylistRemoved(String playlistId) implements ChangeEvent {
+    }
+
+    record RecommendationCreated(Recommendation recommendation) implements ChangeEvent {
+    }
+
+    record RecommendationTracksAdded(List<SpotifyTrack> tracks) implements ChangeEvent {
+    }
+
+    record RecommendationRemoved(String recommendationId) implements ChangeEvent {
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.demo.change;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.common.AfterCommit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// 서비스에서 발행한 변경 이벤트를 락 없는 큐에 쌓고, 단일 소비자 스레드가 묶음으로 리스너에 전달.
+// 요청 스레드는 절대 막히지 않음: 큐가 가득 차면 이벤트를 버리고 리스너에 overflow 를 알림.
+@Slf4j
+@Component
+public class ChangeFeed {
+
+    @Autowired(required = false)
+    private List<ChangeListener> listeners = List.of();
+
+    @Value("${change-feed.capacity:65536}")
+    private int capacity;
+
+    @Value("${change-feed.batch-size:512}")
+    private int batchSize;
+
+    @Value("${change-feed.compaction-interval-ms:300000}")
+    private long compactionIntervalMs;
+
+    private BoundedMpscQueue<ChangeEvent> queue;
+    private Thread consumer;
+    private volatile boolean running;
+    private volatile boolean consumerParked;
+    private final AtomicBoolean overflowed = new AtomicBoolean();
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+
+    @PostConstruct
+    void start() {
+        queue = new BoundedMpscQueue<>(capacity);
+        running = true;
+        consumer = Thread.ofPlatform().name("change-feed").daemon(true).start(this::consume);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(consumer);
+        consumer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에만 큐에 넣음 (롤백된 쓰기가 인덱스에 반영되지 않도록)
+    public void publish(ChangeEvent event) {
+        AfterCommit.run(() -> enqueue(event));
+    }
+
+    private void enqueue(ChangeEvent event) {
+        if (queue.offer(event)) {
+            published.incrementAndGet();
+            if (consumerParked) {
+                LockSupport.unpark(consumer);
+            }
+        } else {
+            dropped.incrementAndGet();
+            overflowed.set(true);
+        }
+    }
+
+    public long getPublished() {
+        return published.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public long getApplied() {
+        return applied.get();
+    }
+
+    public long getBacklog() {
+        return queue.size();
+    }
+
+    private void consume() {
+        List<ChangeEvent> batch = new ArrayList<>(batchSize);
+        long nextCompaction = System.currentTimeMillis() + compactionIntervalMs;
+        while (running || queue.size() > 0) {
+            batch.clear();
+            if (queue.drainTo(batch, batchSize) > 0) {
+                dispatch(batch);
+                applied.addAndGet(batch.size());
+            } else if (overflowed.compareAndSet(true, false)) {
+                log.warn("change feed overflowed ({} events dropped so far), asking listeners to resync", dropped.get());
+                listeners.forEach(this::notifyOverflow);
+            } else if (System.currentTimeMillis() >= nextCompaction) {
+                listeners.forEach(this::compact);
+                nextCompaction = System.currentTimeMillis() + compactionIntervalMs;
+            } else if (running) {
+                consumerParked = true;
+                // unpark 을 놓쳐도 최대 대기 시간이 짧아 지연이 제한됨
+                if (queue.size() == 0) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+                }
+                consumerParked = false;
+            }
+        }
+    }
+
+    private void dispatch(List<ChangeEvent> batch) {
+        for (ChangeListener listener : listeners) {
+            try {
+                listener.onChanges(batch);
+            } catch (RuntimeException e) {
+                log.error("change listener {} failed on batch of {}", listener.getClass().getSimpleName(), batch.size(), e);
+            }
+        }
+    }
+
+    private void notifyOverflow(ChangeListener listener) {
+        try {
+            listener.onOverflow();
+        } catch (RuntimeException e) {
+            log.error("change listener {} failed on overflow", listener.getClass().getSimpleName(), e);
+        }
+    }
+
+    private void compact(ChangeListener listener) {
+        try {
+            listener.compact();
+        } catch (RuntimeException e) {
+            log.error("change listener {} failed on compaction", listener.getClass().getSimpleName(), e);
+        }
+    }
+}
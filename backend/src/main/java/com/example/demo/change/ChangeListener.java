@@ -0,0 +1,17 @@
+package com.example.demo.change;
+
+import java.util.List;
+
+// ChangeFeed 소비자 스레드에서 호출됨. 한 리스너에 대한 호출은 항상 순차적.
+public interface ChangeListener {
+
+    void onChanges(List<ChangeEvent> batch);
+
+    // 큐가 가득 차 이벤트를 버렸을 때. 파생 데이터를 다시 맞춰야 함.
+    default void onOverflow() {
+    }
+
+    // 주기적인 정리 작업
+    default void compact() {
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.demo.common;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 콤마로 이어붙인 id/이름 컬럼 (artist_ids, artist_genres 등) 처리용
+public final class CsvUtils {
+
+    private CsvUtils() {
+    }
+
+    // 공백을 자르고 빈 값은 버림
+    public static List<String> split(String joined) {
+        List<String> values = new ArrayList<>();
+        if (joined == null || joined.isEmpty()) {
+            return values;
+        }
+        for (String value : joined.split(",")) {
+            String trimmed = value.trim();
+            if (!trimmed.isEmpty()) {
+                values.add(trimmed);
+            }
+        }
+        return values;
+    }
+}
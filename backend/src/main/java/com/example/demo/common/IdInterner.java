@@ -0,0 +1,40 @@
+package com.example.demo.common;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Spotify 문자열 id 를 0부터 시작하는 연속 int 로 바꿔주는 인터너.
+// 스레드 안전하지 않으므로 사용하는 쪽에서 락을 잡아야 함.
+public class IdInterner {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    // 없으면 새 id 발급
+    public int intern(String value) {
+        Integer id = ids.get(value);
+        if (id != null) {
+            return id;
+        }
+        int next = values.size();
+        ids.put(value, next);
+        values.add(value);
+        return next;
+    }
+
+    // 없으면 -1
+    public int find(String value) {
+        Integer id = ids.get(value);
+        return id == null ? -1 : id;
+    }
+
+    public String value(int id) {
+        return values.get(id);
+    }
+
+    public int size() {
+        return values.size();
+    }
+}
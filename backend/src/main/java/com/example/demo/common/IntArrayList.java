@@ -0,0 +1,70 @@
+package com.example.demo.common;
+
+import java.util.Arrays;
+
+// 박싱 없는 int 가변 배열
+public class IntArrayList {
+
+    private int[] elements;
+    private int size;
+
+    public IntArrayList() {
+        this(8);
+    }
+
+    public IntArrayList(int capacity) {
+        elements = new int[Math.max(1, capacity)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return elements[index];
+    }
+
+    public void add(int value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, elements.length << 1);
+        }
+        elements[size++] = value;
+    }
+
+    public int indexOf(int value) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int removeAt(int index) {
+        int value = get(index);
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        return value;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void trim() {
+        if (elements.length > size) {
+            elements = Arrays.copyOf(elements, Math.max(1, size));
+        }
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.demo.common;
+
+// int -> int 오픈 어드레싱 맵 (박싱 없음). 키는 0 이상, 값이 0이 되면 엔트리 제거.
+// 스레드 안전하지 않으므로 사용하는 쪽에서 락을 잡아야 함.
+public class IntIntHashMap {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    // 빈 슬롯은 0, 실제 키는 key + 1 로 저장
+    private int[] keys;
+    private int[] values;
+    private int size;
+
+    public IntIntHashMap() {
+        this(4);
+    }
+
+    public IntIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        keys = new int[capacity];
+        values = new int[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int get(int key) {
+        int slot = find(key);
+        return slot < 0 ? 0 : values[slot];
+    }
+
+    public boolean containsKey(int key) {
+        return find(key) >= 0;
+    }
+
+    // 값에 delta 를 더하고 결과를 반환. 결과가 0 이하면 키를 제거.
+    public int addTo(int key, int delta) {
+        int mask = keys.length - 1;
+        int stored = key + 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == stored) {
+                int value = values[slot] + delta;
+                if (value <= 0) {
+                    removeAt(slot);
+                    return 0;
+                }
+                values[slot] = value;
+                return value;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (delta <= 0) {
+            return 0;
+        }
+        keys[slot] = stored;
+        values[slot] = delta;
+        if (++size > keys.length * LOAD_FACTOR) {
+            rehash(keys.length << 1);
+        }
+        return delta;
+    }
+
+    public int remove(int key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return 0;
+        }
+        int value = values[slot];
+        removeAt(slot);
+        return value;
+    }
+
+    public void forEach(IntIntConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                consumer.accept(keys[i] - 1, values[i]);
+            }
+        }
+    }
+
+    // 삭제가 많아 테이블이 듬성듬성해졌을 때 용량을 줄임
+    public void trim() {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (size / LOAD_FACTOR)) - 1) << 1;
+        if (capacity < keys.length) {
+            rehash(capacity);
+        }
+    }
+
+    private int find(int key) {
+        int mask = keys.length - 1;
+        int stored = key + 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == stored) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    // backward shift 삭제: 툼스톤 없이 프로빙 체인을 유지
+    private void removeAt(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (keys[next] != 0) {
+            int home = mix(keys[next] - 1) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = 0;
+        values[hole] = 0;
+        size--;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[capacity];
+        values = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = mix(oldKeys[i] - 1) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    // 오픈 어드레싱 테이블의 시작 슬롯용 해시. 위 비트를 아래로 섞어 마스크를 씌워도 32비트를 다 씀
+    public static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    @FunctionalInterface
+    public interface IntIntConsumer {
+        void accept(int key, int value);
+    }
+}
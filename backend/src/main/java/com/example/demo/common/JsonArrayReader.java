@@ -0,0 +1,46 @@
+package com.example.demo.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+// 요청 본문의 JSON 배열을 원소 하나씩 읽음. 원소가 maxItems 를 넘으면 나머지는 읽지 않고 null 을 돌려줌
+// (@RequestBody List 처럼 본문 전체를 먼저 올린 뒤에 개수를 검사하지 않음)
+@Component
+public class JsonArrayReader {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // 배열이 아니거나 형식이 잘못되면 IOException
+    public <T> List<T> read(InputStream in, Class<T> type, int maxItems) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(type);
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "expected a JSON array");
+            }
+            List<T> items = new ArrayList<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new JsonParseException(parser, "unexpected end of JSON array");
+                }
+                if (items.size() == maxItems) {
+                    return null;
+                }
+                items.add(reader.readValue(parser));
+            }
+            return items;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.demo.common;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+// DB 커서에서 읽는 대로 한 줄에 JSON 하나씩(NDJSON) 응답에 씀. 목록 전체를 메모리에 올리지 않음
+@Component
+public class NdjsonWriter {
+
+    public static final String CONTENT_TYPE = "application/x-ndjson";
+
+    private static final int FLUSH_EVERY = 500;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // source 는 받은 Consumer 에 행을 하나씩 넘겨주는 스트리밍 조회 (예: 서비스의 stream* 메서드)
+    public <T> StreamingResponseBody write(Consumer<Consumer<T>> source) {
+        return out -> {
+            try (SequenceWriter sequence = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+                int[] written = {0};
+                source.accept(item -> {
+                    try {
+                        sequence.write(item);
+                        if (++written[0] % FLUSH_EVERY == 0) {
+                            sequence.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                sequence.flush();
+                if (written[0] > 0) {
+                    out.write('\n');
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.demo.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// keyset 페이지네이션 커서. 마지막 행의 정렬 키를 ':' 로 이어 base64url 로 감쌈
+public final class PageCursor {
+
+    private PageCursor() {
+    }
+
+    public static String encode(Object... keys) {
+        StringBuilder joined = new StringBuilder();
+        for (Object key : keys) {
+            if (joined.length() > 0) {
+                joined.append(':');
+            }
+            joined.append(key);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 형식이 맞지 않으면 IllegalArgumentException
+    public static String[] decode(String cursor, int keyCount) {
+        String joined = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] keys = joined.split(":", keyCount);
+        if (keys.length != keyCount) {
+            throw new IllegalArgumentException("invalid cursor");
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.demo.common.IntIntHashMap;
+import com.example.demo.playlist.Playlist;
+import com.example.demo.playlist.PlaylistTrack;
+import com.example.demo.recommendation.Recommendation;
+import com.example.demo.recommendation.SeedResultCache.SeedResult;
+import com.example.demo.search.UserSearchIndex;
+import com.example.demo.spotify.model.SpotifyTrack;
+import com.example.demo.track.Track;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// 조회 API 앞단 캐시 (Caffeine, W-TinyLFU). 가중치는 리스트의 행 수 기준.
+// 무효화는 각 서비스의 쓰기 메서드가 키 단위로 직접 함.
+@Configuration
+public class CacheConfig {
+
+    @Value("${cache.expire-after-write:10m}")
+    private Duration expireAfterWrite;
+
+    // key: userId
+    @Bean
+    public Cache<String, List<Playlist>> playlistsCache(@Value("${cache.playlists.max-rows:100000}") long maxRows) {
+        return rowWeighted(maxRows);
+    }
+
+    // key: playlistId
+    @Bean
+    public Cache<String, List<PlaylistTrack>> playlistTracksCache(@Value("${cache.playlist-tracks.max-rows:500000}") long maxRows) {
+        return rowWeighted(maxRows);
+    }
+
+    // key: userId
+    @Bean
+    public Cache<String, List<Recommendation>> historyCache(@Value("${cache.history.max-rows:200000}") long maxRows) {
+        return rowWeighted(maxRows);
+    }
+
+    // key: recommendationId
+    @Bean
+    public Cache<String, List<SpotifyTrack>> recommendationTracksCache(@Value("${cache.recommendation-tracks.max-rows:300000}") long maxRows) {
+        return rowWeighted(maxRows);
+    }
+
+    // key: trackId. track 카탈로그에 저장된 것으로 확인된 곡 (TrackCatalog 가 같은 내용의 upsert 를 건너뜀)
+    @Bean
+    public Cache<String, Track> trackCatalogCache(@Value("${cache.track-catalog.max-tracks:200000}") long maxTracks) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxTracks)
+                .recordStats()
+                .build();
+    }
+
+    // key: userId. 좋아요 곡 집합 (LikedTrackService 가 직접 갱신하므로 쓰기 기준 만료는 두지 않음)
+    @Bean
+    public Cache<String, IntIntHashMap> likedTracksCache(@Value("${cache.liked-tracks.max-users:20000}") long maxUsers,
+            @Value("${cache.liked-tracks.expire-after-access:30m}") Duration expireAfterAccess) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+    }
+
+    // key: userId. 저장 곡 검색 색인 (SearchService 가 변경 피드로 직접 갱신하므로 쓰기 기준 만료는 두지 않음)
+    @Bean
+    public Cache<String, UserSearchIndex> searchIndexCache(@Value("${cache.search.max-users:5000}") long maxUsers,
+            @Value("${cache.search.expire-after-access:30m}") Duration expireAfterAccess) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+    }
+
+    // key: seedFingerprint. recommendation_result 앞단 캐시 (SeedResultCache)
+    @Bean
+    public Cache<String, SeedResult> seedResultCache(@Value("${cache.seed-results.max-entries:100000}") long maxEntries,
+            @Value("${recommendation.seed-cache.ttl:24h}") Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    private <V> Cache<String, List<V>> rowWeighted(long maxRows) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                .weigher((String key, List<V> rows) -> rows.size() + 1)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+}
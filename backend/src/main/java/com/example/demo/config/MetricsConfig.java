@@ -0,0 +1,71 @@
+package com.example.demo.config;
+
+import java.util.Map;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.demo.change.ChangeFeed;
+import com.example.demo.feed.FeedPipeline;
+import com.example.demo.push.PushHub;
+import com.example.demo.runtime.VirtualThreadPinningMonitor;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// 자동 구성되지 않는 애플리케이션 지표. HTTP 요청, Hikari 풀, JVM 은 actuator 가 등록함 (/actuator/prometheus)
+@Configuration
+public class MetricsConfig {
+
+    // 조회 캐시 적중률/축출 (cache.gets, cache.evictions ... cache=빈 이름)
+    @Bean
+    public MeterBinder cacheMetrics(Map<String, Cache<?, ?>> caches) {
+        return registry -> caches.forEach((name, cache) -> CaffeineCacheMetrics.monitor(registry, cache, name));
+    }
+
+    @Bean
+    public MeterBinder changeFeedMetrics(ChangeFeed changeFeed) {
+        return registry -> {
+            FunctionCounter.builder("change_feed.events.published", changeFeed, ChangeFeed::getPublished).register(registry);
+            FunctionCounter.builder("change_feed.events.dropped", changeFeed, ChangeFeed::getDropped).register(registry);
+            FunctionCounter.builder("change_feed.events.applied", changeFeed, ChangeFeed::getApplied).register(registry);
+            Gauge.builder("change_feed.backlog", changeFeed, ChangeFeed::getBacklog).register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder virtualThreadPinningMetrics(VirtualThreadPinningMonitor pinningMonitor) {
+        return registry -> {
+            FunctionCounter.builder("jvm.threads.virtual.pinned", pinningMonitor, VirtualThreadPinningMonitor::getPinnedEvents)
+                    .register(registry);
+            FunctionCounter.builder("jvm.threads.virtual.pinned.time", pinningMonitor, m -> m.getPinnedMillis() / 1000d)
+                    .baseUnit("seconds")
+                    .register(registry);
+        };
+    }
+
+    // "for you" 피드 배치 처리량
+    @Bean
+    public MeterBinder feedPipelineMetrics(FeedPipeline feedPipeline) {
+        return registry -> {
+            FunctionCounter.builder("feed.users.processed", feedPipeline, FeedPipeline::getProcessed).register(registry);
+            FunctionCounter.builder("feed.users.failed", feedPipeline, FeedPipeline::getFailed).register(registry);
+            Gauge.builder("feed.run.users_per_second", feedPipeline, FeedPipeline::getUsersPerSecond).register(registry);
+        };
+    }
+
+    // 변경 푸시 SSE 연결
+    @Bean
+    public MeterBinder pushMetrics(PushHub pushHub) {
+        return registry -> {
+            Gauge.builder("push.connections", pushHub, PushHub::getConnections).register(registry);
+            FunctionCounter.builder("push.events.sent", pushHub, PushHub::getSent).register(registry);
+            // 큐가 넘쳐 resync 로 바뀐 이벤트 수
+            FunctionCounter.builder("push.events.dropped", pushHub, PushHub::getDropped).register(registry);
+            FunctionCounter.builder("push.connections.rejected", pushHub, PushHub::getRejected).register(registry);
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.demo.config;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// 매퍼 구문별 실행 시간(mybatis.statement)과 조회 행 수(mybatis.statement.rows).
+// statement 태그는 "매퍼인터페이스.메서드" (예: PlaylistRepository.getPlaylistTracksById).
+// 스트리밍 Cursor 조회는 결과셋을 여는 데까지만 잼
+@Component
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "queryCursor",
+                args = {MappedStatement.class, Object.class, RowBounds.class}),
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+public class MyBatisMetricsInterceptor implements Interceptor {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        String statementId = shortId(statement.getId());
+        String command = statement.getSqlCommandType().name();
+        long started = System.nanoTime();
+        String outcome = "error";
+        try {
+            Object result = invocation.proceed();
+            outcome = "success";
+            recordRows(statementId, command, result);
+            return result;
+        } finally {
+            Timer.builder("mybatis.statement")
+                    .description("MyBatis mapper statement execution time")
+                    .tag("statement", statementId)
+                    .tag("command", command)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // SELECT 는 반환 행 수, INSERT/UPDATE/DELETE 는 영향받은 행 수
+    private void recordRows(String statementId, String command, Object result) {
+        long rows;
+        if (result instanceof Collection<?> collection) {
+            rows = collection.size();
+        } else if (result instanceof Integer count) {
+            rows = count;
+        } else {
+            return;
+        }
+        DistributionSummary.builder("mybatis.statement.rows")
+                .description("Rows returned or affected per MyBatis statement")
+                .baseUnit("rows")
+                .tag("statement", statementId)
+                .tag("command", command)
+                .register(meterRegistry)
+                .record(rows);
+    }
+
+    // com.example.demo.playlist.PlaylistRepository.getPlaylistTracksById -> PlaylistRepository.getPlaylistTracksById
+    private static String shortId(String id) {
+        int method = id.lastIndexOf('.');
+        int type = method > 0 ? id.lastIndexOf('.', method - 1) : -1;
+        return type >= 0 ? id.substring(type + 1) : id;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.demo.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// readOnly 트랜잭션이면 replica, 그 밖(쓰기 트랜잭션, 트랜잭션 밖 호출)은 primary 로 커넥션을 빌림.
+// readOnly 표시는 트랜잭션 시작 뒤에 설정되므로 반드시 LazyConnectionDataSourceProxy 로 감싸 첫 구문 때 고르게 해야 함
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? REPLICA : PRIMARY;
+    }
+}
@@ -13,6 +13,8 @@ public class SecurityConfig {
         http
             .authorizeHttpRequests((requests) -> requests
                 .requestMatchers("/api/**", "/error").permitAll()
+                // 지표 수집 (Prometheus 스크레이프)
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                 .anyRequest().authenticated()
             )
             .formLogin((form) -> form
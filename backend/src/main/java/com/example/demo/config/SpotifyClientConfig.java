@@ -0,0 +1,61 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.demo.spotify.client.SpotifyClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Spotify 호출 클라이언트. base-url 은 테스트/부하 측정 때 스텁 서버로 바꿔 끼울 수 있음
+@Configuration
+public class SpotifyClientConfig {
+
+    @Value("${spotify.client-id}")
+    private String clientId;
+
+    @Value("${spotify.client-secret}")
+    private String clientSecret;
+
+    @Value("${spotify.redirect-uri}")
+    private String redirectUri;
+
+    @Value("${spotify.api.accounts-base-url:https://accounts.spotify.com}")
+    private String accountsBaseUrl;
+
+    @Value("${spotify.api.base-url:https://api.spotify.com}")
+    private String apiBaseUrl;
+
+    @Value("${spotify.api.connect-timeout:3s}")
+    private Duration connectTimeout;
+
+    @Value("${spotify.api.request-timeout:10s}")
+    private Duration requestTimeout;
+
+    @Value("${spotify.api.rate-limit.permits-per-second:20}")
+    private double permitsPerSecond;
+
+    @Value("${spotify.api.rate-limit.burst:40}")
+    private int burst;
+
+    @Value("${spotify.api.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${spotify.api.initial-backoff:200ms}")
+    private Duration initialBackoff;
+
+    @Value("${spotify.api.max-retry-after:30s}")
+    private Duration maxRetryAfter;
+
+    @Bean(destroyMethod = "close")
+    public SpotifyClient spotifyClient(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new SpotifyClient(new SpotifyClient.Settings(
+                clientId, clientSecret, redirectUri, accountsBaseUrl, apiBaseUrl,
+                connectTimeout, requestTimeout, permitsPerSecond, burst,
+                maxRetries, initialBackoff, maxRetryAfter), objectMapper, meterRegistry);
+    }
+}
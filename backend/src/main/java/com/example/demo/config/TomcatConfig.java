@@ -1,15 +1,25 @@
 package com.example.demo.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
 import org.springframework.boot.web.server.WebServerFactoryCustomizer;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 
+@Configuration
 public class TomcatConfig {
+
+    // 연결당 NIO 읽기/쓰기 버퍼 크기. 쉬는 SSE 연결이 많을 때 힙 사용량을 좌우함 (Tomcat 기본 8KB)
+    @Value("${server.tomcat.socket-buffer-size:4096}")
+    private int socketBufferSize;
+
     @Bean
     public WebServerFactoryCustomizer<TomcatServletWebServerFactory> tomcatCustomizer() {
         return factory -> factory.addConnectorCustomizers(connector -> {
             // soLinger 비활성화: -1로 설정
             connector.setProperty("soLinger", "-1");
+            connector.setProperty("socket.appReadBufSize", String.valueOf(socketBufferSize));
+            connector.setProperty("socket.appWriteBufSize", String.valueOf(socketBufferSize));
         });
     }
 }
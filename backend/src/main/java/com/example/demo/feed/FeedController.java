@@ -0,0 +1,24 @@
+package com.example.demo.feed;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/recommendation/feed")
+public class FeedController {
+
+    @Autowired
+    private FeedService feedService;
+
+    // 배치(FeedPipeline)가 미리 계산해 둔 "for you" 피드 (rankNo 순)
+    @GetMapping("/{userId}")
+    public ResponseEntity<List<FeedTrack>> getFeed(@PathVariable String userId) {
+        return ResponseEntity.ok(feedService.getFeed(userId));
+    }
+}
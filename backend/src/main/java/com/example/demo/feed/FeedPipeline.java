@@ -0,0 +1,267 @@
+package com.example.demo.feed;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.common.CsvUtils;
+import com.example.demo.history.HistoryService;
+import com.example.demo.recommendation.Recommendation;
+import com.example.demo.recommendation.RecommendationEngine;
+import com.example.demo.spotify.model.SpotifyTrack;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+// 사용자별 "for you" 피드 배치. 플레이리스트/추천 기록이 있는 사용자를 user_id 순으로 batch-size 명씩 읽어
+// 가상 스레드에서 동시에 처리하고 (DB 접근은 db-concurrency 개로 제한), 묶음이 끝날 때마다 feed_run 에 체크포인트를 남김.
+// 피드는 사용자의 최근 플레이리스트 곡/추천 시드에서 트랙·아티스트·장르 시드를 뽑아 RecommendationEngine 으로 순위를 매긴 것.
+// 처리량은 feed.users.processed / feed.run.users_per_second 지표와 실행 끝 로그로 남김
+@Slf4j
+@Service
+public class FeedPipeline {
+
+    @Autowired
+    private FeedRepository feedRepository;
+
+    @Autowired
+    private RecommendationEngine recommendationEngine;
+
+    @Autowired
+    private HistoryService historyService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // 사용자당 피드 곡 수
+    @Value("${feed.size:50}")
+    private int feedSize;
+
+    @Value("${feed.batch-size:200}")
+    private int batchSize;
+
+    // 동시에 DB 를 쓰는 사용자 작업 수 (풀 크기보다 작게)
+    @Value("${feed.db-concurrency:4}")
+    private int dbConcurrency;
+
+    // 시드를 뽑을 최근 플레이리스트 곡 / 추천 기록 수, 종류별 시드 수
+    @Value("${feed.recent-tracks:500}")
+    private int recentTracks;
+
+    @Value("${feed.recent-recommendations:50}")
+    private int recentRecommendations;
+
+    @Value("${feed.seeds-per-type:5}")
+    private int seedsPerType;
+
+    // RUNNING 인 실행의 heartbeat 가 이보다 오래되면 죽은 것으로 보고 이어받음
+    @Value("${feed.run.stale-after:10m}")
+    private Duration staleAfter;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile double usersPerSecond;
+
+    public long getProcessed() {
+        return processed.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    // 마지막 (또는 진행 중인) 실행의 처리 속도
+    public double getUsersPerSecond() {
+        return usersPerSecond;
+    }
+
+    @Scheduled(cron = "${feed.cron:0 0 5 * * *}")
+    public void run() {
+        if (!recommendationEngine.isReady()) {
+            log.warn("feed run skipped: recommendation index is not loaded yet");
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            FeedRun run = startOrResume();
+            if (run != null) {
+                process(run);
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // 죽은 실행이 있으면 이어받고, 다른 인스턴스가 돌리는 중이면 null
+    private FeedRun startOrResume() {
+        FeedRun unfinished = feedRepository.findUnfinishedRun();
+        if (unfinished != null) {
+            Instant staleBefore = Instant.now().minus(staleAfter);
+            if (unfinished.getHeartbeatDt().toInstant().isAfter(staleBefore)) {
+                log.info("feed run skipped: run {} is still running", unfinished.getRunId());
+                return null;
+            }
+            if (feedRepository.claimRun(unfinished.getRunId(), unfinished.getHeartbeatDt()) == 0) {
+                return null;
+            }
+            log.info("feed run {} resumed after user {} ({} users done)",
+                    unfinished.getRunId(), unfinished.getCheckpointUserId(), unfinished.getUsersProcessed());
+            return unfinished;
+        }
+        FeedRun run = new FeedRun();
+        feedRepository.createRun(run);
+        return run;
+    }
+
+    private void process(FeedRun run) {
+        long started = System.nanoTime();
+        long users = 0;
+        long failures = 0;
+        String afterUserId = run.getCheckpointUserId() == null ? "" : run.getCheckpointUserId();
+        Semaphore db = new Semaphore(dbConcurrency);
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("feed-", 0).factory())) {
+            List<String> userIds;
+            while (!(userIds = feedRepository.findUserIdsAfter(afterUserId, batchSize)).isEmpty()) {
+                List<Future<?>> tasks = new ArrayList<>(userIds.size());
+                for (String userId : userIds) {
+                    tasks.add(executor.submit(() -> processUser(run.getRunId(), userId, db)));
+                }
+                for (int i = 0; i < tasks.size(); i++) {
+                    try {
+                        tasks.get(i).get();
+                    } catch (ExecutionException e) {
+                        failures++;
+                        failed.incrementAndGet();
+                        log.warn("feed failed for user {}", userIds.get(i), e.getCause());
+                    }
+                }
+                // 묶음 전체가 끝난 뒤에만 체크포인트 (다시 시작하면 이 묶음 다음부터)
+                afterUserId = userIds.get(userIds.size() - 1);
+                feedRepository.checkpoint(run.getRunId(), afterUserId, userIds.size());
+                users += userIds.size();
+                usersPerSecond = users / Math.max(1e-9, (System.nanoTime() - started) / 1e9);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("feed run {} interrupted after user {}", run.getRunId(), afterUserId);
+            return;
+        }
+        feedRepository.finishRun(run.getRunId());
+        log.info("feed run {} done: users={}, failed={}, {} users/s, {}ms", run.getRunId(), users, failures,
+                String.format("%.1f", usersPerSecond), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private void processUser(long runId, String userId, Semaphore db) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<SpotifyTrack> tracks = withPermit(db, () -> feedRepository.findRecentPlaylistTracks(userId, recentTracks));
+        List<Recommendation> history = withPermit(db, () -> feedRepository.findRecentRecommendationSeeds(
+                userId, historyService.retentionCutoff(), recentRecommendations));
+        List<String> feed = rank(tracks, history);
+        withPermit(db, () -> {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                feedRepository.deleteFeed(userId);
+                if (!feed.isEmpty()) {
+                    feedRepository.insertFeed(userId, runId, feed);
+                }
+            });
+            return null;
+        });
+        processed.incrementAndGet();
+        sample.stop(Timer.builder("feed.user")
+                .description("Time to build and store one user's feed")
+                .register(meterRegistry));
+    }
+
+    // 피드 곡 id 순위. 사용자가 이미 플레이리스트에 담은 곡은 뺌
+    private List<String> rank(List<SpotifyTrack> tracks, List<Recommendation> history) {
+        Set<String> owned = new LinkedHashSet<>();
+        Map<String, Integer> artistCounts = new HashMap<>();
+        Map<String, Integer> genreCounts = new HashMap<>();
+        Set<String> seedTracks = new LinkedHashSet<>();
+        for (SpotifyTrack track : tracks) {
+            owned.add(track.getTrackId());
+            if (seedTracks.size() < seedsPerType) {
+                seedTracks.add(track.getTrackId());
+            }
+            CsvUtils.split(track.getArtistIds()).forEach(artist -> artistCounts.merge(artist, 1, Integer::sum));
+        }
+        for (Recommendation recommendation : history) {
+            for (String trackId : CsvUtils.split(recommendation.getTrackIds())) {
+                if (seedTracks.size() < seedsPerType * 2) {
+                    seedTracks.add(trackId);
+                }
+            }
+            CsvUtils.split(recommendation.getArtistIds()).forEach(artist -> artistCounts.merge(artist, 1, Integer::sum));
+            CsvUtils.split(recommendation.getArtistGenres())
+                    .forEach(genre -> genreCounts.merge(genre.toLowerCase(Locale.ROOT), 1, Integer::sum));
+        }
+        if (seedTracks.isEmpty() && artistCounts.isEmpty() && genreCounts.isEmpty()) {
+            return List.of();
+        }
+        Recommendation seeds = new Recommendation();
+        seeds.setTrackIds(String.join(",", seedTracks));
+        seeds.setArtistIds(String.join(",", top(artistCounts)));
+        seeds.setArtistGenres(String.join(",", top(genreCounts)));
+        List<String> feed = new ArrayList<>(feedSize);
+        for (SpotifyTrack track : recommendationEngine.recommend(seeds, feedSize + owned.size())) {
+            if (feed.size() == feedSize) {
+                break;
+            }
+            if (!owned.contains(track.getTrackId())) {
+                feed.add(track.getTrackId());
+            }
+        }
+        return feed;
+    }
+
+    private List<String> top(Map<String, Integer> counts) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(seedsPerType)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private static <T> T withPermit(Semaphore semaphore, Supplier<T> work) {
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for a DB permit", e);
+        }
+        try {
+            return work.get();
+        } finally {
+            semaphore.release();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.demo.feed;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+
+import com.example.demo.recommendation.Recommendation;
+import com.example.demo.spotify.model.SpotifyTrack;
+
+@Mapper
+public interface FeedRepository {
+
+    List<FeedTrack> getFeed(String userId);
+
+    // 플레이리스트나 추천 기록이 있는 사용자를 user_id 순으로 afterUserId 다음부터 limit 명
+    List<String> findUserIdsAfter(String afterUserId, int limit);
+
+    List<SpotifyTrack> findRecentPlaylistTracks(String userId, int limit);
+
+    List<Recommendation> findRecentRecommendationSeeds(String userId, Timestamp since, int limit);
+
+    int deleteFeed(String userId);
+
+    int insertFeed(String userId, long runId, List<String> trackIds);
+
+    FeedRun findUnfinishedRun();
+
+    void createRun(FeedRun run);
+
+    int claimRun(long runId, Timestamp heartbeatDt);
+
+    int checkpoint(long runId, String checkpointUserId, int users);
+
+    int finishRun(long runId);
+}
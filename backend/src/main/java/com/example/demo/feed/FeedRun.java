@@ -0,0 +1,17 @@
+package com.example.demo.feed;
+
+import java.sql.Timestamp;
+
+import lombok.Data;
+
+// feed_run 행. checkpointUserId 까지의 사용자는 이번 실행에서 피드를 다 썼음
+@Data
+public class FeedRun {
+    private long runId;
+    private String status; // RUNNING, DONE
+    private String checkpointUserId;
+    private int usersProcessed;
+    private Timestamp startedDt;
+    private Timestamp heartbeatDt;
+    private Timestamp finishedDt;
+}
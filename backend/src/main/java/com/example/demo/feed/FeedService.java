@@ -0,0 +1,18 @@
+package com.example.demo.feed;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class FeedService {
+
+    @Autowired
+    private FeedRepository feedRepository;
+
+    // 마지막 배치가 써 둔 순위 그대로 (없으면 빈 목록)
+    public List<FeedTrack> getFeed(String userId) {
+        return feedRepository.getFeed(userId);
+    }
+}
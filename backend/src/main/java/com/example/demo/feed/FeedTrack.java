@@ -0,0 +1,19 @@
+package com.example.demo.feed;
+
+import java.sql.Timestamp;
+
+import lombok.Data;
+
+// user_feed 행 + track 카탈로그 메타데이터
+@Data
+public class FeedTrack {
+    private int rankNo;
+    private String trackId;
+    private String title;
+    private String artistIds;
+    private String artistNames;
+    private String previewUrl;
+    private String albumImageUrl;
+    private int durationMs;
+    private Timestamp createDt;
+}
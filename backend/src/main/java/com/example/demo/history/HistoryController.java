@@ -3,33 +3,75 @@ package com.example.demo.history;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.demo.common.CursorPage;
+import com.example.demo.common.NdjsonWriter;
 import com.example.demo.recommendation.Recommendation;
 
 @RestController
 @RequestMapping("/api/history")
 public class HistoryController {
+
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     
     @Autowired
     private HistoryService historyService;
 
+    @Autowired
+    private NdjsonWriter ndjsonWriter;
+
+    // 최신 history.max-items 건. 더 있으면 X-Next-Cursor 헤더의 값으로 /{userId}/page?cursor= 에서 이어 받음
     @GetMapping("/{userId}")
-    public ResponseEntity<List<Recommendation>> getRecommendedHistory(@PathVariable String userId) {
+    public ResponseEntity<List<Recommendation>> getRecommendedHistory(@PathVariable String userId, WebRequest request) {
         try {
-            List<Recommendation> history = historyService.getRecommendedHistory(userId);
-            return ResponseEntity.ok(history);
+            // 버전이 같으면 DB 를 거치지 않고 304
+            String etag = historyService.historyEtag(userId);
+            if (etag != null && request.checkNotModified(etag)) {
+                return null;
+            }
+            CursorPage<Recommendation> history = historyService.getRecommendedHistory(userId);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+            if (etag != null) {
+                response.eTag(etag);
+            }
+            if (history.getNextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, history.getNextCursor());
+            }
+            return response.body(history.getItems());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    // 최신순 커서 페이지 조회 (cursor 는 이전 응답의 nextCursor, 첫 페이지는 생략)
+    @GetMapping("/{userId}/page")
+    public ResponseEntity<CursorPage<Recommendation>> getRecommendedHistoryPage(@PathVariable String userId,
+            @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(historyService.getRecommendedHistoryPage(userId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    // 전체 히스토리를 NDJSON 으로 스트리밍
+    @GetMapping(value = "/{userId}/stream", produces = NdjsonWriter.CONTENT_TYPE)
+    public ResponseEntity<StreamingResponseBody> streamRecommendedHistory(@PathVariable String userId) {
+        StreamingResponseBody body = ndjsonWriter.<Recommendation>write(consumer -> historyService.streamRecommendedHistory(userId, consumer));
+        return ResponseEntity.ok().body(body);
+    }
+
     @DeleteMapping("/{recommendationId}")
     public ResponseEntity<String> deleteHistory(@PathVariable String recommendationId) {
         boolean isDeleted = historyService.deleteHistoryById(recommendationId);
@@ -0,0 +1,10 @@
+package com.example.demo.history;
+
+import lombok.Data;
+
+// recommendation 테이블 파티션 (information_schema.PARTITIONS)
+@Data
+public class HistoryPartition {
+    private String name;
+    private String lessThan; // UNIX_TIMESTAMP 경계 값, 마지막 파티션은 MAXVALUE
+}
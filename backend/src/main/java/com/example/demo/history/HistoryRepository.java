@@ -1,16 +1,47 @@
 package com.example.demo.history;
 
+import java.sql.Timestamp;
 import java.util.List;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.cursor.Cursor;
 
 import com.example.demo.recommendation.Recommendation;
 
 @Mapper
 public interface HistoryRepository {
 
-    List<Recommendation> getRecommendedHistory(String userId);
+    // since: 보존 기간 시작 시각. 그보다 오래된 행은 정리 전이라도 보이지 않음
+    List<Recommendation> getRecommendedHistory(String userId, Timestamp since, int limit);
+
+    List<Recommendation> getRecommendedHistoryPage(String userId, Timestamp since, Timestamp beforeCreateDt, String beforeId, int limit);
+
+    Cursor<Recommendation> streamRecommendedHistory(String userId, Timestamp since);
+
+    String getHistoryOwner(String recommendationId);
 
     int deleteHistoryById(String recommendationId);
-    
+
+    int deleteTracksByRecommendationIds(List<String> recommendationIds);
+
+    int deleteSeedsByRecommendationIds(List<String> recommendationIds);
+
+    List<String> findExpiredRecommendationIds(Timestamp before, int limit);
+
+    int deleteRecommendationsByIds(List<String> recommendationIds);
+
+    int deleteExpiredSeedResults(int limit);
+
+    Integer findTrackWindowEnd(int afterId, int limit);
+
+    int deleteOrphanTracks(int fromId, int toId);
+
+    List<HistoryPartition> findPartitions();
+
+    List<String> findPartitionRecommendationIds(String name, String afterId, int limit);
+
+    void addPartition(String name, long lessThan);
+
+    void dropPartition(String name);
+
 }
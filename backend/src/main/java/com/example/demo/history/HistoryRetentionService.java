@@ -0,0 +1,244 @@
+package com.example.demo.history;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.cache.ResourceVersions;
+import com.example.demo.change.ChangeEvent;
+import com.example.demo.change.ChangeFeed;
+import com.example.demo.common.AfterCommit;
+import com.example.demo.recommendation.Recommendation;
+import com.example.demo.recommendation.SeedResultCache;
+import com.example.demo.spotify.model.SpotifyTrack;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+// 추천 기록 보존 기간 정리.
+// delete 모드: 보존 기간이 지난 추천을 create_dt 순으로 batch-size 개씩 각자의 짧은 트랜잭션에서 삭제.
+// partition 모드 (db/009_recommendation_partitioning.sql): 월 파티션을 미리 만들어 두고, 통째로 지난 파티션은 DROP PARTITION.
+// 두 모드 모두 만료된 recommendation_result 와 추천이 없어진 recommendation_tracks 를 구간 단위로 지움.
+// 배치 사이에 batch-pause 만큼 쉬어 요청 트래픽이 락/IO 를 오래 기다리지 않게 함
+@Slf4j
+@Service
+public class HistoryRetentionService {
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    // 월 경계는 서버/MySQL 세션 시간대와 상관없이 UTC 로 계산해 epoch 초로 넘김 (db/009 의 p_initial 도 같은 방식)
+    private static final ZoneOffset PARTITION_ZONE = ZoneOffset.UTC;
+
+    @Autowired
+    private HistoryRepository historyRepository;
+
+    @Autowired
+    private HistoryService historyService;
+
+    @Autowired
+    private SeedResultCache seedResultCache;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private Cache<String, List<Recommendation>> historyCache;
+
+    @Autowired
+    private Cache<String, List<SpotifyTrack>> recommendationTracksCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // delete | partition
+    @Value("${history.retention.mode:delete}")
+    private String mode;
+
+    @Value("${history.retention.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${history.retention.batch-pause:50ms}")
+    private Duration batchPause;
+
+    // partition 모드에서 이번 달 이후로 미리 만들어 둘 월 파티션 수
+    @Value("${history.retention.partitions-ahead:3}")
+    private int partitionsAhead;
+
+    @Scheduled(cron = "${history.retention.cron:0 15 4 * * *}")
+    public void compact() {
+        long started = System.currentTimeMillis();
+        Timestamp cutoff = historyService.retentionCutoff();
+        int removed;
+        try {
+            removed = "partition".equals(mode) ? dropExpiredPartitions(cutoff) : deleteExpired(cutoff);
+            int seedResults = deleteExpiredSeedResults();
+            int orphanTracks = deleteOrphanTracks();
+            log.info("history retention done: mode={}, cutoff={}, recommendations={}, seedResults={}, orphanTracks={}, {}ms",
+                    mode, cutoff, removed, seedResults, orphanTracks, System.currentTimeMillis() - started);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("history retention interrupted: mode={}, {}ms", mode, System.currentTimeMillis() - started);
+        }
+    }
+
+    private int deleteExpired(Timestamp cutoff) throws InterruptedException {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int removed = 0;
+        int deleted;
+        do {
+            deleted = transaction.execute(status -> {
+                List<String> ids = historyRepository.findExpiredRecommendationIds(cutoff, batchSize);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                // 추천을 먼저 지워야 같은 배치 안의 다른 추천이 가리키던 곡도 같이 지워짐
+                historyRepository.deleteRecommendationsByIds(ids);
+                historyRepository.deleteSeedsByRecommendationIds(ids);
+                historyRepository.deleteTracksByRecommendationIds(ids);
+                recommendationsRemoved(ids);
+                return ids.size();
+            });
+            removed += deleted;
+            if (deleted > 0) {
+                pause();
+            }
+        } while (deleted == batchSize);
+        if (removed > 0) {
+            historyRemoved();
+        }
+        return removed;
+    }
+
+    // 상한이 cutoff 이하인 파티션만 통째로 지움. cutoff 가 걸친 파티션은 조회 조건(create_dt >= since)으로 가려짐
+    private int dropExpiredPartitions(Timestamp cutoff) throws InterruptedException {
+        List<HistoryPartition> partitions = historyRepository.findPartitions();
+        if (partitions.isEmpty()) {
+            log.warn("history retention: recommendation is not partitioned, falling back to delete mode");
+            return deleteExpired(cutoff);
+        }
+        addPartitionsAhead(partitions);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long cutoffSeconds = cutoff.getTime() / 1000;
+        int removed = 0;
+        for (HistoryPartition partition : partitions) {
+            if (isMaxValue(partition) || Long.parseLong(partition.getLessThan()) > cutoffSeconds) {
+                continue;
+            }
+            // 시드/결과 매핑/메모리 인덱스는 파티션을 지우기 전에 id 단위로 정리. 곡은 뒤의 고아 정리가 지움
+            String afterId = "";
+            List<String> ids;
+            while (!(ids = historyRepository.findPartitionRecommendationIds(partition.getName(), afterId, batchSize)).isEmpty()) {
+                List<String> batch = ids;
+                transaction.executeWithoutResult(status -> {
+                    historyRepository.deleteSeedsByRecommendationIds(batch);
+                    recommendationsRemoved(batch);
+                });
+                removed += batch.size();
+                afterId = batch.get(batch.size() - 1);
+                pause();
+            }
+            historyRepository.dropPartition(partition.getName());
+            log.info("history retention: dropped partition {}", partition.getName());
+        }
+        if (removed > 0) {
+            historyRemoved();
+        }
+        return removed;
+    }
+
+    // 이번 달부터 partitions-ahead 달 뒤까지 pYYYYMM (그 달 행이 들어갈 파티션)이 pmax 앞에 있게 함
+    private void addPartitionsAhead(List<HistoryPartition> partitions) {
+        Set<String> names = new HashSet<>();
+        long lastBound = Long.MIN_VALUE;
+        for (HistoryPartition partition : partitions) {
+            names.add(partition.getName());
+            if (!isMaxValue(partition)) {
+                lastBound = Math.max(lastBound, Long.parseLong(partition.getLessThan()));
+            }
+        }
+        YearMonth month = YearMonth.now(PARTITION_ZONE);
+        for (int i = 0; i <= partitionsAhead; i++, month = month.plusMonths(1)) {
+            long upper = month.plusMonths(1).atDay(1).atStartOfDay(PARTITION_ZONE).toEpochSecond();
+            String name = month.atDay(1).format(PARTITION_NAME);
+            // REORGANIZE pmax 는 마지막 경계 뒤로만 추가할 수 있음
+            if (names.contains(name) || upper <= lastBound) {
+                continue;
+            }
+            historyRepository.addPartition(name, upper);
+            log.info("history retention: added partition {}", name);
+        }
+    }
+
+    private int deleteExpiredSeedResults() throws InterruptedException {
+        int removed = 0;
+        int deleted;
+        do {
+            deleted = historyRepository.deleteExpiredSeedResults(batchSize);
+            removed += deleted;
+            if (deleted > 0) {
+                pause();
+            }
+        } while (deleted == batchSize);
+        return removed;
+    }
+
+    // id 구간 (afterId, end] 씩 훑으며 추천도 result_id 참조도 없는 곡 행 삭제
+    private int deleteOrphanTracks() throws InterruptedException {
+        int removed = 0;
+        int afterId = 0;
+        Integer end;
+        while ((end = historyRepository.findTrackWindowEnd(afterId, batchSize)) != null) {
+            int deleted = historyRepository.deleteOrphanTracks(afterId, end);
+            removed += deleted;
+            afterId = end;
+            if (deleted > 0) {
+                pause();
+            }
+        }
+        return removed;
+    }
+
+    // 호출하는 쪽 트랜잭션 안에서 실행되어야 함
+    private void recommendationsRemoved(List<String> ids) {
+        seedResultCache.resultsRemoved(ids);
+        for (String id : ids) {
+            changeFeed.publish(new ChangeEvent.RecommendationRemoved(id));
+        }
+        AfterCommit.run(() -> {
+            recommendationTracksCache.invalidateAll(ids);
+            for (String id : ids) {
+                resourceVersions.bump(ResourceVersions.recommendationTracks(id));
+            }
+        });
+    }
+
+    // 지운 추천의 사용자를 따로 모으지 않고 기록 캐시/ETag 를 한 번에 무효화 (하루 한 번)
+    private void historyRemoved() {
+        historyCache.invalidateAll();
+        resourceVersions.bumpAll(ResourceVersions.historyPrefix());
+    }
+
+    private void pause() throws InterruptedException {
+        if (!batchPause.isZero()) {
+            Thread.sleep(batchPause.toMillis());
+        }
+    }
+
+    private static boolean isMaxValue(HistoryPartition partition) {
+        return "MAXVALUE".equalsIgnoreCase(partition.getLessThan());
+    }
+}
@@ -1,11 +1,33 @@
 package com.example.demo.history;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.demo.cache.ResourceVersions;
+import com.example.demo.change.ChangeEvent;
+import com.example.demo.change.ChangeFeed;
+import com.example.demo.common.AfterCommit;
+import com.example.demo.common.CursorPage;
+import com.example.demo.common.PageCursor;
 import com.example.demo.recommendation.Recommendation;
+import com.example.demo.recommendation.SeedResultCache;
+import com.example.demo.spotify.model.SpotifyTrack;
+import com.example.demo.sync.ChangeType;
+import com.example.demo.sync.UserChangeLog;
+import com.github.benmanes.caffeine.cache.Cache;
 
 @Service
 public class HistoryService {
@@ -13,12 +35,125 @@ public class HistoryService {
     @Autowired
     private HistoryRepository historyRepository;
 
-    public List<Recommendation> getRecommendedHistory(String userId) {
-        return historyRepository.getRecommendedHistory(userId);
+    @Autowired
+    private SeedResultCache seedResultCache;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private UserChangeLog userChangeLog;
+
+    @Autowired
+    private Cache<String, List<Recommendation>> historyCache;
+
+    @Autowired
+    private Cache<String, List<SpotifyTrack>> recommendationTracksCache;
+
+    // 페이지 조회 한 번에 돌려줄 최대 건수
+    @Value("${pagination.max-limit:500}")
+    private int maxPageLimit;
+
+    // 전체 목록 조회 최대 건수. 오래된 사용자도 (user_id, create_dt) 인덱스 범위만 읽음
+    @Value("${history.max-items:500}")
+    private int maxItems;
+
+    // 보존 기간. 지난 행은 HistoryRetentionService 가 지우기 전이라도 조회에서 빠짐
+    @Value("${history.retention.days:365}")
+    private int retentionDays;
+
+    // 마지막으로 쓴 보존 경계 (UTC 자정 단위)
+    private final AtomicReference<Timestamp> cutoff = new AtomicReference<>();
+
+    // 최신순 max-items 건. 더 있으면 nextCursor 로 /page 에서 이어 받음
+    public CursorPage<Recommendation> getRecommendedHistory(String userId) {
+        // 경계가 움직이면 캐시를 비우므로 로더 밖에서 구함. 한 행 더 읽어서 잘렸는지 판단
+        Timestamp since = retentionCutoff();
+        List<Recommendation> rows = historyCache.get(userId,
+                key -> historyRepository.getRecommendedHistory(key, since, maxItems + 1));
+        if (rows.size() <= maxItems) {
+            return new CursorPage<>(rows, null);
+        }
+        List<Recommendation> items = new ArrayList<>(rows.subList(0, maxItems));
+        Recommendation last = items.get(maxItems - 1);
+        return new CursorPage<>(items, PageCursor.encode(last.getCreateDt().getTime(), last.getRecommendationId()));
+    }
+
+    // 목록 ETag (꺼져 있으면 null). 보존 경계가 움직였으면 먼저 반영하므로 DB 를 읽기 전에 호출해야 함
+    public String historyEtag(String userId) {
+        retentionCutoff();
+        return resourceVersions.etag(ResourceVersions.history(userId));
+    }
+
+    // 이 시각 이전에 만든 추천은 보존 기간이 지난 것. 하루에 한 번만 움직이며,
+    // 움직일 때 기간이 지난 행이 캐시/ETag 에 남지 않도록 목록 캐시를 비우고 모든 기록 버전을 올림
+    public Timestamp retentionCutoff() {
+        Timestamp next = Timestamp.from(LocalDate.now(ZoneOffset.UTC).minusDays(retentionDays).atStartOfDay(ZoneOffset.UTC).toInstant());
+        Timestamp current = cutoff.get();
+        if (next.equals(current)) {
+            return current;
+        }
+        if (cutoff.compareAndSet(current, next) && current != null) {
+            historyCache.invalidateAll();
+            resourceVersions.bumpAll(ResourceVersions.historyPrefix());
+        }
+        return next;
+    }
+
+    // 최신순 (create_dt, recommendation_id) keyset 페이지. 커서 형식이 잘못되면 IllegalArgumentException
+    @Transactional(readOnly = true)
+    public CursorPage<Recommendation> getRecommendedHistoryPage(String userId, String cursor, int limit) {
+        Timestamp beforeCreateDt = null;
+        String beforeId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] keys = PageCursor.decode(cursor, 2);
+            beforeCreateDt = new Timestamp(Long.parseLong(keys[0]));
+            beforeId = keys[1];
+        }
+        int pageSize = Math.max(1, Math.min(limit, maxPageLimit));
+        // 한 행 더 읽어서 다음 페이지 존재 여부 판단
+        List<Recommendation> rows = historyRepository.getRecommendedHistoryPage(userId, retentionCutoff(), beforeCreateDt, beforeId, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<Recommendation> items = new ArrayList<>(rows.subList(0, pageSize));
+        Recommendation last = items.get(pageSize - 1);
+        return new CursorPage<>(items, PageCursor.encode(last.getCreateDt().getTime(), last.getRecommendationId()));
+    }
+
+    // 결과셋을 한 행씩 넘김. 응답 스트리밍 동안 커넥션을 잡고 있으므로 readOnly 트랜잭션 안에서만 읽음
+    @Transactional(readOnly = true)
+    public void streamRecommendedHistory(String userId, Consumer<Recommendation> consumer) {
+        try (Cursor<Recommendation> cursor = historyRepository.streamRecommendedHistory(userId, retentionCutoff())) {
+            cursor.forEach(consumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
+    @Transactional
     public boolean deleteHistoryById(String recommendationId) {
+        String ownerId = historyRepository.getHistoryOwner(recommendationId);
         int rowsAffected = historyRepository.deleteHistoryById(recommendationId);
+        if (rowsAffected > 0) {
+            List<String> ids = List.of(recommendationId);
+            historyRepository.deleteSeedsByRecommendationIds(ids);
+            historyRepository.deleteTracksByRecommendationIds(ids);
+            seedResultCache.resultRemoved(recommendationId);
+            changeFeed.publish(new ChangeEvent.RecommendationRemoved(recommendationId));
+            userChangeLog.record(ownerId, ChangeType.HISTORY_DELETED, recommendationId);
+            AfterCommit.run(() -> {
+                if (ownerId != null) {
+                    historyCache.invalidate(ownerId);
+                    resourceVersions.bump(ResourceVersions.history(ownerId));
+                }
+                recommendationTracksCache.invalidate(recommendationId);
+                resourceVersions.bump(ResourceVersions.recommendationTracks(recommendationId));
+            });
+        }
         return rowsAffected > 0;
     }
     
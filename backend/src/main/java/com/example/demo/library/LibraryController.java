@@ -0,0 +1,51 @@
+package com.example.demo.library;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.playlist.Playlist;
+import com.example.demo.playlist.PlaylistTrack;
+import com.example.demo.recommendation.Recommendation;
+
+// 사용자 라이브러리(플레이리스트, 추천 히스토리)의 아티스트/장르별 조회
+@RestController
+@RequestMapping("/api/library/{userId}")
+public class LibraryController {
+
+    @Autowired
+    private LibraryService libraryService;
+
+    // 아티스트 곡이 들어있는 플레이리스트
+    @GetMapping("/artists/{artistId}/playlists")
+    public ResponseEntity<List<Playlist>> getPlaylistsByArtist(@PathVariable String userId, @PathVariable String artistId) {
+        return ResponseEntity.ok(libraryService.getPlaylistsByArtist(userId, artistId));
+    }
+
+    // 라이브러리 전체에서 아티스트의 곡
+    @GetMapping("/artists/{artistId}/tracks")
+    public ResponseEntity<List<PlaylistTrack>> getTracksByArtist(@PathVariable String userId, @PathVariable String artistId,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(libraryService.getTracksByArtist(userId, artistId, limit));
+    }
+
+    // 아티스트를 시드로 쓴 추천 히스토리
+    @GetMapping("/artists/{artistId}/recommendations")
+    public ResponseEntity<List<Recommendation>> getRecommendationsByArtist(@PathVariable String userId, @PathVariable String artistId,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(libraryService.getRecommendationsByArtist(userId, artistId, limit));
+    }
+
+    // 장르를 시드로 쓴 추천 히스토리
+    @GetMapping("/genres/{genre}/recommendations")
+    public ResponseEntity<List<Recommendation>> getRecommendationsByGenre(@PathVariable String userId, @PathVariable String genre,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(libraryService.getRecommendationsByGenre(userId, genre, limit));
+    }
+}
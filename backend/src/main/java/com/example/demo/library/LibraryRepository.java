@@ -0,0 +1,24 @@
+package com.example.demo.library;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+
+import com.example.demo.playlist.Playlist;
+import com.example.demo.playlist.PlaylistTrack;
+import com.example.demo.recommendation.Recommendation;
+
+@Mapper
+public interface LibraryRepository {
+
+    int insertTrackArtists(List<TrackArtist> rows);
+
+    int insertRecommendationSeeds(List<RecommendationSeed> rows);
+
+    List<Playlist> findPlaylistsByArtist(String userId, String artistId);
+
+    List<PlaylistTrack> findTracksByArtist(String userId, String artistId, int limit);
+
+    List<Recommendation> findRecommendationsBySeed(String userId, String seedType, String seedValue, int limit);
+
+}
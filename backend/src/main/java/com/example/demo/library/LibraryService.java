@@ -0,0 +1,110 @@
+package com.example.demo.library;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.common.CsvUtils;
+import com.example.demo.playlist.Playlist;
+import com.example.demo.playlist.PlaylistTrack;
+import com.example.demo.recommendation.Recommendation;
+
+// track_artist / recommendation_seed 관계 유지와 아티스트/장르별 조회.
+// 쓰기는 곡 추가, 추천 생성과 같은 트랜잭션에서 호출됨 (삭제는 FK ON DELETE CASCADE, 추천 시드는 HistoryService 가 직접 지움).
+// 조회는 readOnly 트랜잭션이라 replica 가 설정돼 있으면 replica 에서 읽음
+@Service
+public class LibraryService {
+
+    // 한 INSERT 문에 넣을 최대 행 수
+    private static final int INSERT_CHUNK = 1000;
+
+    @Autowired
+    private LibraryRepository libraryRepository;
+
+    @Value("${pagination.max-limit:500}")
+    private int maxLimit;
+
+    // id 가 채워진 (INSERT 후) 곡들의 아티스트 행 추가. userId 는 플레이리스트 소유자
+    public void indexPlaylistTracks(String userId, List<PlaylistTrack> tracks) {
+        if (userId == null) {
+            return;
+        }
+        List<TrackArtist> rows = new ArrayList<>();
+        for (PlaylistTrack track : tracks) {
+            List<String> artistIds = CsvUtils.split(track.getArtistIds());
+            List<String> artistNames = CsvUtils.split(track.getArtistNames());
+            // 이름에 콤마가 들어간 경우 개수가 달라지므로 그때는 이름을 비움
+            boolean namesAligned = artistNames.size() == artistIds.size();
+            for (int i = 0; i < artistIds.size(); i++) {
+                TrackArtist row = new TrackArtist();
+                row.setPlaylistTrackId(track.getId());
+                row.setPlaylistId(track.getPlaylistId());
+                row.setUserId(userId);
+                row.setTrackId(track.getTrackId());
+                row.setArtistId(artistIds.get(i));
+                row.setArtistName(namesAligned ? artistNames.get(i) : null);
+                row.setOrdinal(i + 1);
+                rows.add(row);
+            }
+        }
+        for (int from = 0; from < rows.size(); from += INSERT_CHUNK) {
+            libraryRepository.insertTrackArtists(rows.subList(from, Math.min(from + INSERT_CHUNK, rows.size())));
+        }
+    }
+
+    public void indexRecommendation(Recommendation recommendation) {
+        List<RecommendationSeed> rows = new ArrayList<>();
+        addSeeds(rows, recommendation, RecommendationSeed.TRACK, CsvUtils.split(recommendation.getTrackIds()));
+        addSeeds(rows, recommendation, RecommendationSeed.ARTIST, CsvUtils.split(recommendation.getArtistIds()));
+        addSeeds(rows, recommendation, RecommendationSeed.GENRE,
+                CsvUtils.split(recommendation.getArtistGenres()).stream().map(LibraryService::normalizeGenre).toList());
+        if (!rows.isEmpty()) {
+            libraryRepository.insertRecommendationSeeds(rows);
+        }
+    }
+
+    private static void addSeeds(List<RecommendationSeed> rows, Recommendation recommendation, String seedType, List<String> values) {
+        for (int i = 0; i < values.size(); i++) {
+            RecommendationSeed seed = new RecommendationSeed();
+            seed.setRecommendationId(recommendation.getRecommendationId());
+            seed.setUserId(recommendation.getUserId());
+            seed.setSeedType(seedType);
+            seed.setSeedValue(values.get(i));
+            seed.setOrdinal(i + 1);
+            rows.add(seed);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<Playlist> getPlaylistsByArtist(String userId, String artistId) {
+        return libraryRepository.findPlaylistsByArtist(userId, artistId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PlaylistTrack> getTracksByArtist(String userId, String artistId, int limit) {
+        return libraryRepository.findTracksByArtist(userId, artistId, clamp(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Recommendation> getRecommendationsByArtist(String userId, String artistId, int limit) {
+        return libraryRepository.findRecommendationsBySeed(userId, RecommendationSeed.ARTIST, artistId, clamp(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Recommendation> getRecommendationsByGenre(String userId, String genre, int limit) {
+        return libraryRepository.findRecommendationsBySeed(userId, RecommendationSeed.GENRE, normalizeGenre(genre), clamp(limit));
+    }
+
+    private int clamp(int limit) {
+        return Math.max(1, Math.min(limit, maxLimit));
+    }
+
+    private static String normalizeGenre(String genre) {
+        return genre.trim().toLowerCase(Locale.ROOT);
+    }
+}
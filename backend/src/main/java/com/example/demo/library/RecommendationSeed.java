@@ -0,0 +1,18 @@
+package com.example.demo.library;
+
+import lombok.Data;
+
+// recommendation_seed 행. seedType 은 track / artist / genre
+@Data
+public class RecommendationSeed {
+    public static final String TRACK = "track";
+    public static final String ARTIST = "artist";
+    public static final String GENRE = "genre";
+
+    private String recommendationId;
+    // 추천 소유자 (사용자 범위 인덱스용)
+    private String userId;
+    private String seedType;
+    private String seedValue;
+    private int ordinal;
+}
@@ -0,0 +1,16 @@
+package com.example.demo.library;
+
+import lombok.Data;
+
+// track_artist 행: 플레이리스트 곡의 ordinal 번째 아티스트
+@Data
+public class TrackArtist {
+    private int playlistTrackId;
+    private int playlistId;
+    // 플레이리스트 소유자 (사용자 범위 인덱스용)
+    private String userId;
+    private String trackId;
+    private String artistId;
+    private String artistName;
+    private int ordinal;
+}
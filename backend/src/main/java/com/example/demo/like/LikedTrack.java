@@ -0,0 +1,20 @@
+package com.example.demo.like;
+
+import java.sql.Timestamp;
+
+import lombok.Data;
+
+// liked_track 행 + track 카탈로그 메타데이터
+@Data
+public class LikedTrack {
+    private int id;
+    private String userId;
+    private String trackId;
+    private String title;
+    private String artistIds;
+    private String artistNames;
+    private String previewUrl;
+    private String albumImageUrl;
+    private int durationMs;
+    private Timestamp createDt;
+}
@@ -0,0 +1,80 @@
+package com.example.demo.like;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.common.CsvUtils;
+import com.example.demo.common.CursorPage;
+
+@RestController
+@RequestMapping("/api/like")
+public class LikedTrackController {
+
+    @Autowired
+    private LikedTrackService likedTrackService;
+
+    @Value("${like.membership.max-track-ids:100}")
+    private int maxTrackIds;
+
+    // 여러 곡의 좋아요 여부 (trackIds: 콤마로 구분한 Spotify 곡 id). 응답: { trackId: true/false }
+    @GetMapping("/{userId}")
+    public ResponseEntity<?> getLikedState(@PathVariable String userId, @RequestParam String trackIds) {
+        List<String> ids = CsvUtils.split(trackIds);
+        if (ids.size() > maxTrackIds) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("한 번에 최대 " + maxTrackIds + "곡까지 조회할 수 있습니다.");
+        }
+        Map<String, Boolean> liked = likedTrackService.contains(userId, ids);
+        return ResponseEntity.ok(liked);
+    }
+
+    // 좋아요 한 곡 목록 (최근 순)
+    @GetMapping("/{userId}/tracks")
+    public ResponseEntity<List<LikedTrack>> getLikedTracks(@PathVariable String userId) {
+        return ResponseEntity.ok(likedTrackService.getLikedTracks(userId));
+    }
+
+    // 커서 페이지 조회 (cursor 는 이전 응답의 nextCursor, 첫 페이지는 생략)
+    @GetMapping("/{userId}/tracks/page")
+    public ResponseEntity<CursorPage<LikedTrack>> getLikedTracksPage(@PathVariable String userId,
+            @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return ResponseEntity.ok(likedTrackService.getLikedTracksPage(userId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    // 좋아요 (body: 곡 메타데이터, trackId 필수)
+    @PostMapping("/{userId}/tracks")
+    public ResponseEntity<String> likeTrack(@PathVariable String userId, @RequestBody LikedTrack track) {
+        if (track.getTrackId() == null || track.getTrackId().isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("trackId 가 필요합니다.");
+        }
+        if (likedTrackService.like(userId, track)) {
+            return ResponseEntity.status(HttpStatus.CREATED).body("좋아요 목록에 추가되었습니다.");
+        }
+        return ResponseEntity.ok("이미 좋아요 한 트랙입니다.");
+    }
+
+    // 좋아요 취소
+    @DeleteMapping("/{userId}/tracks/{trackId}")
+    public ResponseEntity<String> unlikeTrack(@PathVariable String userId, @PathVariable String trackId) {
+        if (likedTrackService.unlike(userId, trackId)) {
+            return ResponseEntity.ok("좋아요가 취소되었습니다.");
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("트랙을 찾을 수 없습니다.");
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.demo.like;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+
+@Mapper
+public interface LikedTrackRepository {
+
+    List<String> findLikedTrackIds(String userId);
+
+    List<LikedTrack> getLikedTracks(String userId);
+
+    List<LikedTrack> getLikedTracksPage(String userId, Integer beforeId, int limit);
+
+    int insertLikedTrack(String userId, String trackId);
+
+    int deleteLikedTrack(String userId, String trackId);
+
+}
@@ -0,0 +1,169 @@
+package com.example.demo.like;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.common.AfterCommit;
+import com.example.demo.common.CursorPage;
+import com.example.demo.common.IdInterner;
+import com.example.demo.common.IntIntHashMap;
+import com.example.demo.common.PageCursor;
+import com.example.demo.sync.ChangeType;
+import com.example.demo.sync.UserChangeLog;
+import com.example.demo.track.Track;
+import com.example.demo.track.TrackCatalog;
+import com.github.benmanes.caffeine.cache.Cache;
+
+// 사용자별 좋아요 곡 (liked_track) 과 "이 곡을 좋아요 했는가" 판정.
+// 판정용으로 사용자별 좋아요 곡 집합을 (곡 번호 -> 1) int 맵으로 메모리에 둠.
+// 곡 id 는 IdInterner 로 int 번호를 받아 모든 사용자가 공유하고, 집합은 처음 조회할 때 DB 에서 읽어 옴.
+// 좋아요 추가/취소는 커밋 후에 그 사용자의 집합에 반영함.
+@Service
+public class LikedTrackService {
+
+    // 로드 중에 변경이 계속 겹치면 이 횟수만큼만 다시 읽음
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    @Autowired
+    private LikedTrackRepository likedTrackRepository;
+
+    @Autowired
+    private TrackCatalog trackCatalog;
+
+    @Autowired
+    private UserChangeLog userChangeLog;
+
+    // key: userId
+    @Autowired
+    private Cache<String, IntIntHashMap> likedTracksCache;
+
+    // 페이지 조회 한 번에 돌려줄 최대 곡 수
+    @Value("${pagination.max-limit:500}")
+    private int maxPageLimit;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final IdInterner trackIds = new IdInterner();
+    // 변경 반영 횟수. 로드하는 동안 바뀌었으면 읽은 결과를 버리고 다시 읽음
+    private long modifications;
+
+    // trackIds 순서대로 좋아요 여부
+    public Map<String, Boolean> contains(String userId, List<String> trackIdsToCheck) {
+        IntIntHashMap liked = likedTracks(userId);
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            for (String trackId : trackIdsToCheck) {
+                int no = trackIds.find(trackId);
+                result.put(trackId, no >= 0 && liked.containsKey(no));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    public List<LikedTrack> getLikedTracks(String userId) {
+        return likedTrackRepository.getLikedTracks(userId);
+    }
+
+    // 최근 좋아요 순 keyset 페이지. 커서 형식이 잘못되면 IllegalArgumentException
+    @Transactional(readOnly = true)
+    public CursorPage<LikedTrack> getLikedTracksPage(String userId, String cursor, int limit) {
+        Integer beforeId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            beforeId = Integer.parseInt(PageCursor.decode(cursor, 1)[0]);
+        }
+        int pageSize = Math.max(1, Math.min(limit, maxPageLimit));
+        // 한 행 더 읽어서 다음 페이지 존재 여부 판단
+        List<LikedTrack> rows = likedTrackRepository.getLikedTracksPage(userId, beforeId, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<LikedTrack> items = new ArrayList<>(rows.subList(0, pageSize));
+        return new CursorPage<>(items, PageCursor.encode(items.get(pageSize - 1).getId()));
+    }
+
+    // 이미 좋아요 한 곡이면 false
+    @Transactional
+    public boolean like(String userId, LikedTrack track) {
+        trackCatalog.save(List.of(Track.from(track)));
+        boolean inserted = likedTrackRepository.insertLikedTrack(userId, track.getTrackId()) > 0;
+        if (inserted) {
+            userChangeLog.record(userId, ChangeType.LIKE_ADDED, track.getTrackId());
+            apply(userId, track.getTrackId(), 1);
+        }
+        return inserted;
+    }
+
+    // 좋아요 하지 않은 곡이면 false
+    @Transactional
+    public boolean unlike(String userId, String trackId) {
+        boolean deleted = likedTrackRepository.deleteLikedTrack(userId, trackId) > 0;
+        if (deleted) {
+            userChangeLog.record(userId, ChangeType.LIKE_REMOVED, trackId);
+            apply(userId, trackId, -1);
+        }
+        return deleted;
+    }
+
+    // 아직 메모리에 없는 사용자면 다음 조회 때 DB 에서 읽으므로 modifications 만 올림
+    private void apply(String userId, String trackId, int delta) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                modifications++;
+                IntIntHashMap liked = likedTracksCache.getIfPresent(userId);
+                if (liked != null) {
+                    liked.addTo(trackIds.intern(trackId), delta);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // 캐시에 없으면 DB 에서 읽어 만듦. 쿼리는 락 밖에서 하고, 그동안 반영된 변경이 있으면 다시 읽음
+    private IntIntHashMap likedTracks(String userId) {
+        IntIntHashMap cached = likedTracksCache.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        for (int attempt = 1; ; attempt++) {
+            long before;
+            lock.readLock().lock();
+            try {
+                before = modifications;
+            } finally {
+                lock.readLock().unlock();
+            }
+            List<String> rows = likedTrackRepository.findLikedTrackIds(userId);
+            lock.writeLock().lock();
+            try {
+                cached = likedTracksCache.getIfPresent(userId);
+                if (cached != null) {
+                    return cached;
+                }
+                if (modifications != before && attempt < MAX_LOAD_ATTEMPTS) {
+                    continue;
+                }
+                IntIntHashMap liked = new IntIntHashMap(rows.size());
+                for (String trackId : rows) {
+                    liked.addTo(trackIds.intern(trackId), 1);
+                }
+                likedTracksCache.put(userId, liked);
+                return liked;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+}
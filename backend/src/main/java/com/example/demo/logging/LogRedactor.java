@@ -0,0 +1,40 @@
+package com.example.demo.logging;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 로그 메시지에서 토큰/시크릿 값을 가림. 키는 남기고 값만 "***" 로 바꿈
+public final class LogRedactor {
+
+    private static final String MASK = "***";
+
+    // access_token=..., "refresh_token":"...", client_secret: ... 등 (쿼리스트링, JSON, Map.toString 형태)
+    private static final Pattern KEY_VALUE = Pattern.compile(
+            "(?i)(?<![A-Za-z_])(\"?(?:access_token|refresh_token|id_token|client_secret|accessToken|refreshToken|clientSecret|code)\"?\\s*[=:]\\s*\"?)([^\"&,\\s}]+)");
+
+    // Authorization 헤더 값
+    private static final Pattern AUTH_HEADER = Pattern.compile("(?i)\\b(Bearer|Basic)\\s+[A-Za-z0-9._~+/=-]+");
+
+    private LogRedactor() {
+    }
+
+    public static String redact(String message) {
+        if (message == null || message.isEmpty()) {
+            return message;
+        }
+        // 대부분의 로그는 해당 키가 없으므로 정규식 전에 빠르게 거름
+        if (!mayContainSecret(message)) {
+            return message;
+        }
+        Matcher keyValue = KEY_VALUE.matcher(message);
+        String result = keyValue.find() ? keyValue.replaceAll("$1" + MASK) : message;
+        Matcher header = AUTH_HEADER.matcher(result);
+        return header.find() ? header.replaceAll("$1 " + MASK) : result;
+    }
+
+    private static boolean mayContainSecret(String message) {
+        String lower = message.toLowerCase();
+        return lower.contains("token") || lower.contains("secret") || lower.contains("code")
+                || lower.contains("bearer") || lower.contains("basic");
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.demo.logging;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.StackTraceElementProxy;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+// 한 줄에 이벤트 하나씩 JSON 으로 씀 (수집기에서 그대로 파싱). 메시지와 예외 메시지는 LogRedactor 를 거침
+public class RedactingJsonEncoder extends EncoderBase<ILoggingEvent> {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    // 예외 스택은 앞쪽 몇 줄만
+    private int maxStackDepth = 20;
+
+    public void setMaxStackDepth(int maxStackDepth) {
+        this.maxStackDepth = maxStackDepth;
+    }
+
+    @Override
+    public byte[] headerBytes() {
+        return EMPTY;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"@timestamp\":\"").append(Instant.ofEpochMilli(event.getTimeStamp())).append('"');
+        field(json, "level", event.getLevel().toString());
+        field(json, "thread", event.getThreadName());
+        field(json, "logger", event.getLoggerName());
+        field(json, "message", LogRedactor.redact(event.getFormattedMessage()));
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        if (mdc != null) {
+            mdc.forEach((key, value) -> field(json, key, LogRedactor.redact(value)));
+        }
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            field(json, "exception", throwable.getClassName());
+            field(json, "exceptionMessage", LogRedactor.redact(throwable.getMessage()));
+            field(json, "stackTrace", stackTrace(throwable));
+        }
+        json.append("}\n");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String stackTrace(IThrowableProxy throwable) {
+        StringBuilder trace = new StringBuilder();
+        for (IThrowableProxy current = throwable; current != null; current = current.getCause()) {
+            if (current != throwable) {
+                trace.append("Caused by: ").append(current.getClassName()).append(": ")
+                        .append(LogRedactor.redact(current.getMessage())).append('\n');
+            }
+            StackTraceElementProxy[] frames = current.getStackTraceElementProxyArray();
+            for (int i = 0; i < Math.min(maxStackDepth, frames.length); i++) {
+                trace.append("\tat ").append(frames[i].getStackTraceElement()).append('\n');
+            }
+        }
+        return trace.toString();
+    }
+
+    private static void field(StringBuilder json, String key, String value) {
+        json.append(",\"");
+        escape(json, key);
+        json.append("\":");
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        escape(json, value);
+        json.append('"');
+    }
+
+    private static void escape(StringBuilder json, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return EMPTY;
+    }
+}
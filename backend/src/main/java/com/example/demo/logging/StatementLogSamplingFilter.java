@@ -0,0 +1,59 @@
+package com.example.demo.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+// MyBatis 구문 로그(prefix 아래 DEBUG/TRACE)를 sampleRate 건 중 1건만 남김.
+// MyBatis 는 로그를 쓰기 전에 isDebugEnabled() 를 묻고 (format == null) 거짓이면 로깅 프록시도 만들지 않음.
+// 한 구문 안에서 여러 번 묻기 때문에 스레드별로 같은 구문(logger) 에 대한 결정을 잠깐 유지해
+// Preparing/Parameters/Total 줄이 함께 남거나 함께 빠지게 함
+public class StatementLogSamplingFilter extends TurboFilter {
+
+    private static final long STICKY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final class Decision {
+        String loggerName;
+        long decidedAt;
+        boolean keep;
+    }
+
+    private final AtomicLong counter = new AtomicLong();
+    private final ThreadLocal<Decision> decisions = ThreadLocal.withInitial(Decision::new);
+
+    private String loggerPrefix = "mybatis.";
+    private int sampleRate = 100;
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level.isGreaterOrEqual(Level.INFO) || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        if (format != null) {
+            // 샘플링된 구문이 실제로 쓰는 줄
+            return FilterReply.NEUTRAL;
+        }
+        Decision decision = decisions.get();
+        long now = System.nanoTime();
+        if (!logger.getName().equals(decision.loggerName) || now - decision.decidedAt > STICKY_NANOS) {
+            decision.loggerName = logger.getName();
+            decision.keep = counter.getAndIncrement() % sampleRate == 0;
+            decision.decidedAt = now;
+        }
+        return decision.keep ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.demo.playlist;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,6 +17,15 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.demo.cache.ResourceVersions;
+import com.example.demo.common.CursorPage;
+import com.example.demo.common.JsonArrayReader;
+import com.example.demo.common.NdjsonWriter;
+
+import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
 @RequestMapping("/api/playlist")
@@ -23,6 +34,15 @@ public class PlaylistController {
     @Autowired
     private PlaylistService playlistService;
 
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private NdjsonWriter ndjsonWriter;
+
+    @Autowired
+    private JsonArrayReader jsonArrayReader;
+
     @GetMapping("/{userId}")
     public ResponseEntity<List<Playlist>> getPlaylists(@PathVariable String userId) {
         try {
@@ -85,9 +105,89 @@ public class PlaylistController {
     }
 
     @GetMapping("/{playlistId}/tracks")
-    public ResponseEntity<List<PlaylistTrack>> getPlaylistTracks(@PathVariable String playlistId) {
+    public ResponseEntity<List<PlaylistTrack>> getPlaylistTracks(@PathVariable String playlistId, WebRequest request) {
+        // 버전이 같으면 DB 를 거치지 않고 304
+        String etag = resourceVersions.etag(ResourceVersions.playlistTracks(playlistId));
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         List<PlaylistTrack> tracks = playlistService.getPlaylistTracksById(playlistId);
-        return ResponseEntity.ok(tracks);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        if (etag != null) {
+            response.eTag(etag);
+        }
+        return response.body(tracks);
+    }
+
+    // 커서 페이지 조회 (cursor 는 이전 응답의 nextCursor, 첫 페이지는 생략)
+    @GetMapping("/{playlistId}/tracks/page")
+    public ResponseEntity<CursorPage<PlaylistTrack>> getPlaylistTracksPage(@PathVariable String playlistId,
+            @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return ResponseEntity.ok(playlistService.getPlaylistTracksPage(playlistId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    // 전체 곡을 한 줄에 하나씩 NDJSON 으로 스트리밍
+    @GetMapping(value = "/{playlistId}/tracks/stream", produces = NdjsonWriter.CONTENT_TYPE)
+    public ResponseEntity<StreamingResponseBody> streamPlaylistTracks(@PathVariable String playlistId) {
+        StreamingResponseBody body = ndjsonWriter.<PlaylistTrack>write(consumer -> playlistService.streamPlaylistTracks(playlistId, consumer));
+        return ResponseEntity.ok().body(body);
+    }
+
+    // 여러 곡 한 번에 추가. 본문은 곡 배열이며 최대 곡 수를 넘는 순간 더 읽지 않고 413
+    @PostMapping("/{playlistId}/tracks/batch")
+    public ResponseEntity<String> addTracksToPlaylist(@PathVariable String playlistId, HttpServletRequest request) {
+        List<PlaylistTrack> tracks;
+        try {
+            tracks = jsonArrayReader.read(request.getInputStream(), PlaylistTrack.class, playlistService.getMaxBatchTracks());
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("요청 본문을 읽을 수 없습니다.");
+        }
+        if (tracks == null) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body("한 번에 최대 " + playlistService.getMaxBatchTracks() + "곡까지 추가할 수 있습니다.");
+        }
+        try {
+            int added = playlistService.addTracksToPlaylist(playlistId, tracks);
+            return ResponseEntity.status(HttpStatus.CREATED).body(added + "개의 트랙이 플레이리스트에 추가되었습니다.");
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("트랙 추가에 실패했습니다.");
+        }
+    }
+
+    // 여러 곡 한 번에 삭제 (body: playlist_tracks.id 목록). 최대 곡 수를 넘는 순간 더 읽지 않고 413
+    @DeleteMapping("/{playlistId}/tracks/batch")
+    public ResponseEntity<String> deleteTracks(@PathVariable String playlistId, HttpServletRequest request) {
+        List<Integer> ids;
+        try {
+            ids = jsonArrayReader.read(request.getInputStream(), Integer.class, playlistService.getMaxBatchTracks());
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("요청 본문을 읽을 수 없습니다.");
+        }
+        if (ids == null) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body("한 번에 최대 " + playlistService.getMaxBatchTracks() + "곡까지 삭제할 수 있습니다.");
+        }
+        int deleted = playlistService.deleteTracksByIds(playlistId, ids);
+        if (deleted > 0) {
+            return ResponseEntity.ok(deleted + "개의 트랙이 성공적으로 삭제되었습니다.");
+        } else {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("트랙을 찾을 수 없습니다.");
+        }
+    }
+
+    // 곡 순서 변경 (body: 플레이리스트의 모든 playlist_tracks.id 를 새 순서대로)
+    @PutMapping("/{playlistId}/tracks/order")
+    public ResponseEntity<String> reorderTracks(@PathVariable String playlistId, @RequestBody List<Integer> ids) {
+        boolean isReordered = playlistService.reorderTracks(playlistId, ids);
+        if (isReordered) {
+            return ResponseEntity.ok("트랙 순서가 성공적으로 변경되었습니다.");
+        } else {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("플레이리스트의 현재 트랙 목록과 일치하지 않습니다.");
+        }
     }
 
     @PostMapping("/track/save")
@@ -3,6 +3,7 @@ package com.example.demo.playlist;
 import java.util.List;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.cursor.Cursor;
 
 @Mapper
 public interface PlaylistRepository {
@@ -17,10 +18,34 @@ public interface PlaylistRepository {
 
     List<PlaylistTrack> getPlaylistTracksById(String playlistId);
 
+    List<PlaylistTrack> getPlaylistTracksPage(String playlistId, Integer afterPosition, Integer afterId, int limit);
+
+    Cursor<PlaylistTrack> streamPlaylistTracks(String playlistId);
+
     int addTrackToPlaylist(PlaylistTrack playlistTrack);
 
+    int getMaxPosition(String playlistId);
+
+    int addTracksToPlaylist(List<PlaylistTrack> tracks);
+
+    List<PlaylistTrack> getPlaylistTracksByIds(String playlistId, List<Integer> ids);
+
+    int deleteTracksByIds(String playlistId, List<Integer> ids);
+
+    int countPlaylistTracks(String playlistId);
+
+    int countTracksByIds(String playlistId, List<Integer> ids);
+
+    int updateTrackPositions(String playlistId, List<PlaylistTrack> tracks);
+
     Playlist getPlaylist(String playlistId);
 
+    String getPlaylistOwner(String playlistId);
+
+    PlaylistTrack getPlaylistTrack(String id, String playlistId);
+
     int deleteTrackById(String id, String playlistId);
+
+    Cursor<PlaylistTrack> scanPlaylistTracks();
     
 }
@@ -1,9 +1,31 @@
 package com.example.demo.playlist;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.function.Consumer;
+
+import org.apache.ibatis.cursor.Cursor;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.cache.ResourceVersions;
+import com.example.demo.change.ChangeEvent;
+import com.example.demo.change.ChangeFeed;
+import com.example.demo.common.AfterCommit;
+import com.example.demo.common.CursorPage;
+import com.example.demo.common.PageCursor;
+import com.example.demo.library.LibraryService;
+import com.example.demo.sync.ChangeType;
+import com.example.demo.sync.UserChangeLog;
+import com.example.demo.track.Track;
+import com.example.demo.track.TrackCatalog;
+import com.github.benmanes.caffeine.cache.Cache;
 
 @Service
 public class PlaylistService {
@@ -11,40 +33,267 @@ public class PlaylistService {
     @Autowired
     private PlaylistRepository playlistRepository;
 
+    @Autowired
+    private PlaylistSummaryService playlistSummaryService;
+
+    @Autowired
+    private TrackCatalog trackCatalog;
+
+    @Autowired
+    private LibraryService libraryService;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private UserChangeLog userChangeLog;
+
+    @Autowired
+    private Cache<String, List<Playlist>> playlistsCache;
+
+    @Autowired
+    private Cache<String, List<PlaylistTrack>> playlistTracksCache;
+
+    // 일괄 API 한 번에 받을 수 있는 최대 곡 수 / 한 SQL 문에 넣을 곡 수
+    @Value("${playlist.batch.max-tracks:5000}")
+    private int maxBatchTracks;
+
+    @Value("${playlist.batch.chunk-size:500}")
+    private int batchChunkSize;
+
+    // 페이지 조회 한 번에 돌려줄 최대 곡 수
+    @Value("${pagination.max-limit:500}")
+    private int maxPageLimit;
+
+    public int getMaxBatchTracks() {
+        return maxBatchTracks;
+    }
+
+    @Transactional
     public void createPlaylist(Playlist playlist) {
         playlistRepository.createPlaylist(playlist);
+        changeFeed.publish(new ChangeEvent.PlaylistCreated(playlist.getUserId(), String.valueOf(playlist.getId())));
+        userChangeLog.record(playlist.getUserId(), ChangeType.PLAYLIST_UPSERTED, playlist.getId());
+        AfterCommit.run(() -> evictPlaylists(playlist.getUserId()));
     }
 
     public List<Playlist> getPlaylists(String userId) {
-        return playlistRepository.getPlaylists(userId);
+        return playlistsCache.get(userId, playlistRepository::getPlaylists);
     }
 
+    @Transactional
     public boolean deletePlaylistById(String playlistId) {
+        String ownerId = playlistRepository.getPlaylistOwner(playlistId);
         int rowsAffected = playlistRepository.deletePlaylistById(playlistId);
+        if (rowsAffected > 0) {
+            playlistSummaryService.playlistDeleted(playlistId);
+            changeFeed.publish(new ChangeEvent.PlaylistRemoved(playlistId));
+            userChangeLog.record(ownerId, ChangeType.PLAYLIST_DELETED, playlistId);
+            evict(playlistId, ownerId);
+        }
         return rowsAffected > 0;
     }
 
+    @Transactional
     public boolean updatePlaylistById(String playlistId, String title) {
         int rowsAffected = playlistRepository.updatePlaylistById(playlistId, title);
+        if (rowsAffected > 0) {
+            String ownerId = playlistRepository.getPlaylistOwner(playlistId);
+            userChangeLog.record(ownerId, ChangeType.PLAYLIST_UPSERTED, playlistId);
+            AfterCommit.run(() -> evictPlaylists(ownerId));
+        }
         return rowsAffected > 0;
     }
 
     public List<PlaylistTrack> getPlaylistTracksById(String playlistId) {
-        return playlistRepository.getPlaylistTracksById(playlistId);
+        return playlistTracksCache.get(playlistId, playlistRepository::getPlaylistTracksById);
+    }
+
+    // (position, id) 기준 keyset 페이지. 커서 형식이 잘못되면 IllegalArgumentException
+    @Transactional(readOnly = true)
+    public CursorPage<PlaylistTrack> getPlaylistTracksPage(String playlistId, String cursor, int limit) {
+        Integer afterPosition = null;
+        Integer afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] keys = PageCursor.decode(cursor, 2);
+            afterPosition = Integer.parseInt(keys[0]);
+            afterId = Integer.parseInt(keys[1]);
+        }
+        int pageSize = Math.max(1, Math.min(limit, maxPageLimit));
+        // 한 행 더 읽어서 다음 페이지 존재 여부 판단
+        List<PlaylistTrack> rows = playlistRepository.getPlaylistTracksPage(playlistId, afterPosition, afterId, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<PlaylistTrack> items = new ArrayList<>(rows.subList(0, pageSize));
+        PlaylistTrack last = items.get(pageSize - 1);
+        return new CursorPage<>(items, PageCursor.encode(last.getPosition(), last.getId()));
     }
 
+    // 결과셋을 한 행씩 넘김. 응답 스트리밍 동안 커넥션을 잡고 있으므로 readOnly 트랜잭션 안에서만 읽음
+    @Transactional(readOnly = true)
+    public void streamPlaylistTracks(String playlistId, Consumer<PlaylistTrack> consumer) {
+        try (Cursor<PlaylistTrack> cursor = playlistRepository.streamPlaylistTracks(playlistId)) {
+            cursor.forEach(consumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Transactional
     public boolean addTrackToPlaylist(PlaylistTrack playlistTrack) {
+        trackCatalog.save(List.of(Track.from(playlistTrack)));
+        // position 을 MAX + 1 로 매기므로 일괄 추가와 같은 락으로 직렬화
+        playlistSummaryService.lock(playlistTrack.getPlaylistId());
         int rowsInserted = playlistRepository.addTrackToPlaylist(playlistTrack);
+        if (rowsInserted > 0) {
+            String playlistId = String.valueOf(playlistTrack.getPlaylistId());
+            String ownerId = playlistRepository.getPlaylistOwner(playlistId);
+            playlistSummaryService.tracksAdded(playlistTrack.getPlaylistId(), rowsInserted);
+            libraryService.indexPlaylistTracks(ownerId, List.of(playlistTrack));
+            changeFeed.publish(new ChangeEvent.PlaylistTracksAdded(List.of(playlistTrack)));
+            userChangeLog.record(ownerId, ChangeType.TRACK_ADDED, List.of(String.valueOf(playlistTrack.getId())), playlistId);
+            evict(playlistId, ownerId);
+        }
         return rowsInserted > 0;
     }
 
+    // 여러 곡을 한 트랜잭션에서 chunk 단위 multi-row INSERT 로 추가.
+    // position 을 최댓값 다음부터 직접 매기므로 reorderTracks 와 같은 플레이리스트 락을 먼저 잡아 동시 추가를 직렬화함
+    @Transactional
+    public int addTracksToPlaylist(String playlistId, List<PlaylistTrack> tracks) {
+        int playlistNo = Integer.parseInt(playlistId);
+        trackCatalog.save(tracks.stream().map(Track::from).toList());
+        playlistSummaryService.lock(playlistNo);
+        int position = playlistRepository.getMaxPosition(playlistId);
+        int inserted = 0;
+        for (int from = 0; from < tracks.size(); from += batchChunkSize) {
+            List<PlaylistTrack> chunk = tracks.subList(from, Math.min(from + batchChunkSize, tracks.size()));
+            for (PlaylistTrack track : chunk) {
+                track.setPlaylistId(playlistNo);
+                track.setPosition(++position);
+            }
+            inserted += playlistRepository.addTracksToPlaylist(chunk);
+        }
+        if (inserted > 0) {
+            String ownerId = playlistRepository.getPlaylistOwner(playlistId);
+            playlistSummaryService.tracksAdded(playlistNo, inserted);
+            libraryService.indexPlaylistTracks(ownerId, tracks);
+            // 변경 피드에는 chunk 마다 이벤트 하나
+            for (int from = 0; from < tracks.size(); from += batchChunkSize) {
+                changeFeed.publish(new ChangeEvent.PlaylistTracksAdded(
+                        List.copyOf(tracks.subList(from, Math.min(from + batchChunkSize, tracks.size())))));
+            }
+            userChangeLog.record(ownerId, ChangeType.TRACK_ADDED, rowIds(tracks), playlistId);
+            evict(playlistId, ownerId);
+        }
+        return inserted;
+    }
+
+    // 행 id 목록으로 여러 곡 삭제. 삭제된 곡 수 반환
+    @Transactional
+    public int deleteTracksByIds(String playlistId, List<Integer> ids) {
+        List<Integer> distinctIds = ids.stream().distinct().toList();
+        List<PlaylistTrack> removed = new ArrayList<>();
+        int deleted = 0;
+        for (int from = 0; from < distinctIds.size(); from += batchChunkSize) {
+            List<Integer> chunk = distinctIds.subList(from, Math.min(from + batchChunkSize, distinctIds.size()));
+            List<PlaylistTrack> rows = playlistRepository.getPlaylistTracksByIds(playlistId, chunk);
+            deleted += playlistRepository.deleteTracksByIds(playlistId, chunk);
+            if (!rows.isEmpty()) {
+                changeFeed.publish(new ChangeEvent.PlaylistTracksRemoved(rows));
+            }
+            removed.addAll(rows);
+        }
+        if (deleted > 0) {
+            playlistSummaryService.tracksRemoved(Integer.parseInt(playlistId), deleted);
+            String ownerId = playlistRepository.getPlaylistOwner(playlistId);
+            userChangeLog.record(ownerId, ChangeType.TRACK_REMOVED, rowIds(removed), playlistId);
+            evict(playlistId, ownerId);
+        }
+        return deleted;
+    }
+
+    // 플레이리스트 전체 곡의 행 id 를 새 순서대로 받아 position 을 1..n 으로 다시 매김.
+    // 목록이 현재 곡 구성과 정확히 같지 않으면 아무것도 바꾸지 않고 false
+    @Transactional
+    public boolean reorderTracks(String playlistId, List<Integer> orderedIds) {
+        int playlistNo = Integer.parseInt(playlistId);
+        if (new HashSet<>(orderedIds).size() != orderedIds.size()) {
+            return false;
+        }
+        playlistSummaryService.lock(playlistNo);
+        if (playlistRepository.countPlaylistTracks(playlistId) != orderedIds.size()) {
+            return false;
+        }
+        int matched = 0;
+        for (int from = 0; from < orderedIds.size(); from += batchChunkSize) {
+            matched += playlistRepository.countTracksByIds(playlistId,
+                    orderedIds.subList(from, Math.min(from + batchChunkSize, orderedIds.size())));
+        }
+        if (matched != orderedIds.size()) {
+            return false;
+        }
+        List<PlaylistTrack> chunk = new ArrayList<>(batchChunkSize);
+        for (int i = 0; i < orderedIds.size(); i++) {
+            PlaylistTrack track = new PlaylistTrack();
+            track.setId(orderedIds.get(i));
+            track.setPosition(i + 1);
+            chunk.add(track);
+            if (chunk.size() == batchChunkSize || i == orderedIds.size() - 1) {
+                playlistRepository.updateTrackPositions(playlistId, chunk);
+                chunk.clear();
+            }
+        }
+        playlistSummaryService.tracksReordered(playlistNo);
+        String ownerId = playlistRepository.getPlaylistOwner(playlistId);
+        userChangeLog.record(ownerId, ChangeType.PLAYLIST_REORDERED, playlistId);
+        evict(playlistId, ownerId);
+        return true;
+    }
+
     public Playlist getPlaylist(String playlistId) {
         return playlistRepository.getPlaylist(playlistId);
     }
 
+    @Transactional
     public boolean deleteTrackById(String id, String playlistId) {
+        // 어떤 곡이 빠졌는지 이벤트에 담기 위해 삭제 전에 조회
+        PlaylistTrack track = playlistRepository.getPlaylistTrack(id, playlistId);
         int rowsAffected = playlistRepository.deleteTrackById(id, playlistId);
+        if (rowsAffected > 0 && track != null) {
+            playlistSummaryService.tracksRemoved(track.getPlaylistId(), rowsAffected);
+            changeFeed.publish(new ChangeEvent.PlaylistTracksRemoved(List.of(track)));
+            String ownerId = playlistRepository.getPlaylistOwner(playlistId);
+            userChangeLog.record(ownerId, ChangeType.TRACK_REMOVED, List.of(String.valueOf(track.getId())), playlistId);
+            evict(playlistId, ownerId);
+        }
         return rowsAffected > 0;
     }
+
+    private static List<String> rowIds(List<PlaylistTrack> tracks) {
+        return tracks.stream().map(track -> String.valueOf(track.getId())).toList();
+    }
+
+    // 커밋 전에 지우면 다른 요청이 옛 값을 다시 채울 수 있어 커밋 후에 무효화
+    private void evict(String playlistId, String ownerId) {
+        AfterCommit.run(() -> {
+            playlistTracksCache.invalidate(playlistId);
+            resourceVersions.bump(ResourceVersions.playlistTracks(playlistId));
+            evictPlaylists(ownerId);
+        });
+    }
+
+    private void evictPlaylists(String ownerId) {
+        if (ownerId == null) {
+            // 소유자를 모르면 전체 무효화
+            playlistsCache.invalidateAll();
+        } else {
+            playlistsCache.invalidate(ownerId);
+        }
+    }
     
 }
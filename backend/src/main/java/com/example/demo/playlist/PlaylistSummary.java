@@ -0,0 +1,10 @@
+package com.example.demo.playlist;
+
+import lombok.Data;
+
+@Data
+public class PlaylistSummary {
+    private int playlistId;
+    private int trackCount;
+    private String thumbnailUrl;
+}
@@ -0,0 +1,24 @@
+package com.example.demo.playlist;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+
+@Mapper
+public interface PlaylistSummaryRepository {
+
+    int addTrackCount(int playlistId, int delta);
+
+    int refreshThumbnails(int playlistId, boolean onlyIfShort);
+
+    int deleteSummary(String playlistId);
+
+    List<Integer> findPlaylistIdsAfter(int afterId, int limit);
+
+    int recomputeSummaries(List<Integer> playlistIds);
+
+    List<PlaylistSummary> findSummaries(List<Integer> playlistIds);
+
+    List<PlaylistSummary> computeSummaries(List<Integer> playlistIds);
+
+}
@@ -0,0 +1,113 @@
+package com.example.demo.playlist;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+
+// playlist_summary (곡 수, 앞 4곡 썸네일) 유지/백필/정합성 검사
+@Slf4j
+@Service
+public class PlaylistSummaryService {
+
+    @Autowired
+    private PlaylistSummaryRepository playlistSummaryRepository;
+
+    @Value("${playlist.summary.batch-size:200}")
+    private int batchSize;
+
+    @Value("${playlist.summary.backfill-on-startup:false}")
+    private boolean backfillOnStartup;
+
+    @Value("${playlist.summary.repair:false}")
+    private boolean repair;
+
+    // 호출하는 쪽 트랜잭션 안에서 실행되어야 함
+    public void tracksAdded(int playlistId, int count) {
+        playlistSummaryRepository.addTrackCount(playlistId, count);
+        playlistSummaryRepository.refreshThumbnails(playlistId, true);
+    }
+
+    public void tracksRemoved(int playlistId, int count) {
+        playlistSummaryRepository.addTrackCount(playlistId, -count);
+        playlistSummaryRepository.refreshThumbnails(playlistId, false);
+    }
+
+    public void tracksReordered(int playlistId) {
+        playlistSummaryRepository.refreshThumbnails(playlistId, false);
+    }
+
+    // 트랜잭션이 끝날 때까지 해당 플레이리스트의 곡 추가/삭제를 막음.
+    // 곡이 하나도 없던 플레이리스트는 요약 행이 없어 FOR UPDATE 로는 서로 막지 못하므로, 0 을 더하는 upsert 로 행을 만들거나 잠금
+    public void lock(int playlistId) {
+        playlistSummaryRepository.addTrackCount(playlistId, 0);
+    }
+
+    public void playlistDeleted(String playlistId) {
+        playlistSummaryRepository.deleteSummary(playlistId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (backfillOnStartup) {
+            Thread.ofPlatform().name("playlist-summary-backfill").daemon(true).start(this::backfill);
+        }
+    }
+
+    // 전체 플레이리스트를 id 순으로 batchSize 씩 다시 계산. 배치마다 별도 자동 커밋이라 락이 짧음
+    public int backfill() {
+        long started = System.currentTimeMillis();
+        int processed = 0;
+        int afterId = -1;
+        List<Integer> playlistIds;
+        while (!(playlistIds = playlistSummaryRepository.findPlaylistIdsAfter(afterId, batchSize)).isEmpty()) {
+            playlistSummaryRepository.recomputeSummaries(playlistIds);
+            processed += playlistIds.size();
+            afterId = playlistIds.get(playlistIds.size() - 1);
+        }
+        log.info("playlist summary backfill done: playlists={}, {}ms", processed, System.currentTimeMillis() - started);
+        return processed;
+    }
+
+    // 저장된 요약과 실제 값을 비교. playlist.summary.repair=true 면 어긋난 배치를 다시 계산
+    @Scheduled(cron = "${playlist.summary.check-cron:0 30 4 * * *}")
+    public int check() {
+        int mismatches = 0;
+        int afterId = -1;
+        List<Integer> playlistIds;
+        while (!(playlistIds = playlistSummaryRepository.findPlaylistIdsAfter(afterId, batchSize)).isEmpty()) {
+            Map<Integer, PlaylistSummary> stored = new HashMap<>();
+            for (PlaylistSummary summary : playlistSummaryRepository.findSummaries(playlistIds)) {
+                stored.put(summary.getPlaylistId(), summary);
+            }
+            boolean batchDirty = false;
+            for (PlaylistSummary actual : playlistSummaryRepository.computeSummaries(playlistIds)) {
+                PlaylistSummary summary = stored.get(actual.getPlaylistId());
+                int storedCount = summary == null ? 0 : summary.getTrackCount();
+                String storedThumbnails = summary == null ? null : summary.getThumbnailUrl();
+                if (storedCount != actual.getTrackCount()
+                        || !Objects.equals(storedThumbnails, actual.getThumbnailUrl())) {
+                    log.warn("playlist summary mismatch: playlistId={}, stored={}, actual={}",
+                            actual.getPlaylistId(), storedCount, actual.getTrackCount());
+                    mismatches++;
+                    batchDirty = true;
+                }
+            }
+            if (batchDirty && repair) {
+                playlistSummaryRepository.recomputeSummaries(playlistIds);
+            }
+            afterId = playlistIds.get(playlistIds.size() - 1);
+        }
+        log.info("playlist summary check done: mismatches={}, repaired={}", mismatches, repair && mismatches > 0);
+        return mismatches;
+    }
+}
@@ -13,4 +13,5 @@ public class PlaylistTrack {
     private String previewUrl;
     private String albumImageUrl;
     private int durationMs;
+    private int position;
 }
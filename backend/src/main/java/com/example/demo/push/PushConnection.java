@@ -0,0 +1,80 @@
+package com.example.demo.push;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// SSE 연결 하나. 보낼 이벤트를 작은 큐에 담고, 큐가 비어 있다가 채워질 때만 가상 스레드 하나가 비울 때까지 보냄.
+// 쉬는 연결은 스레드 없이 이 객체와 Tomcat 소켓만 차지함
+class PushConnection {
+
+    // 큐가 넘쳐 버린 뒤 보낼 표시. 클라이언트는 /api/sync 로 다시 맞춤
+    static final Object RESYNC = new Object();
+    static final Object HEARTBEAT = new Object();
+
+    final String userId;
+    final SseEmitter emitter;
+    final long connectedAt = System.nanoTime();
+    private final int capacity;
+    // 넘쳐서 버린 이벤트 수 (허브 전체 합계)
+    private final LongAdder dropped;
+    private ArrayDeque<Object> queue;
+    private boolean draining;
+    private boolean closed;
+
+    PushConnection(String userId, SseEmitter emitter, int capacity, LongAdder dropped) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.capacity = capacity;
+        this.dropped = dropped;
+    }
+
+    enum Offer { QUEUED, DRAIN, STALLED, CLOSED }
+
+    // DRAIN 이면 호출한 쪽이 drain 을 시작해야 함.
+    // 큐가 차면 쌓인 이벤트를 버리고 RESYNC 하나로 바꿈. RESYNC 도 보내지 못한 채 또 차면 (읽지 않는 클라이언트) STALLED
+    synchronized Offer offer(Object event) {
+        if (closed) {
+            return Offer.CLOSED;
+        }
+        if (queue == null) {
+            queue = new ArrayDeque<>(4);
+        }
+        if (event == HEARTBEAT && !queue.isEmpty()) {
+            // 보낼 것이 밀려 있으면 heartbeat 는 필요 없음
+            return Offer.QUEUED;
+        }
+        if (queue.size() >= capacity) {
+            if (queue.peekFirst() == RESYNC) {
+                return Offer.STALLED;
+            }
+            dropped.add(queue.size());
+            queue.clear();
+            queue.add(RESYNC);
+        } else {
+            queue.add(event);
+        }
+        if (draining) {
+            return Offer.QUEUED;
+        }
+        draining = true;
+        return Offer.DRAIN;
+    }
+
+    // 비었으면 null (drain 종료)
+    synchronized Object poll() {
+        Object event = queue == null || closed ? null : queue.pollFirst();
+        if (event == null) {
+            draining = false;
+            // 쉬는 동안 큐 배열을 들고 있지 않음
+            queue = null;
+        }
+        return event;
+    }
+
+    synchronized void close() {
+        closed = true;
+        queue = null;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.demo.push;
+
+import com.example.demo.sync.ChangeType;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// SSE "change" 이벤트 data. token 은 /api/sync 토큰과 같은 형식 (이 변경까지 반영된 상태)
+@Data
+@AllArgsConstructor
+public class PushEvent {
+    private ChangeType type;
+    private String entityId;
+    private String parentId;
+    private String token;
+}
@@ -0,0 +1,205 @@
+package com.example.demo.push;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.demo.common.PageCursor;
+import com.example.demo.sync.SyncRepository;
+import com.example.demo.sync.SyncState;
+import com.example.demo.sync.UserChange;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// 사용자별 SSE 연결에 변경 기록 (UserChangeLog) 을 커밋 후에 밀어 줌.
+// 연결마다 스레드를 두지 않고 (SseEmitter = 서블릿 비동기 요청), 보낼 것이 생긴 연결만 가상 스레드가 큐를 비움.
+// 느린 클라이언트는 큐가 queue-capacity 를 넘으면 밀린 이벤트 대신 "resync" 하나를 받고 /api/sync 로 다시 맞추며,
+// 그것마저 읽지 않으면 연결을 끊음. heartbeat 는 프록시 유휴 타임아웃을 막고 끊긴 연결을 찾아냄.
+// 이 노드에 붙은 연결에만 보냄 (ChangeFeed 와 같은 범위). 다른 노드의 변경은 재연결/주기적 /api/sync 로 맞춤
+@Slf4j
+@Service
+public class PushHub {
+
+    @Autowired
+    private SyncRepository syncRepository;
+
+    // 이벤트 큐 길이 (연결당)
+    @Value("${push.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${push.max-connections:50000}")
+    private int maxConnections;
+
+    // 넘으면 가장 오래된 연결을 닫음 (탭/기기 여러 개)
+    @Value("${push.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    // 이 시간이 지나면 서버가 닫고 클라이언트 EventSource 가 Last-Event-ID 로 다시 붙음
+    @Value("${push.timeout:30m}")
+    private Duration timeout;
+
+    private final Map<String, Set<PushConnection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("push-", 0).factory());
+
+    public int getConnections() {
+        return connectionCount.get();
+    }
+
+    public long getSent() {
+        return sent.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    // 연결 수가 가득 차면 null. lastEventId 가 현재 토큰과 다르면 (끊긴 동안 바뀜) 바로 resync 를 보냄
+    public SseEmitter subscribe(String userId, String lastEventId) {
+        if (connectionCount.incrementAndGet() > maxConnections) {
+            connectionCount.decrementAndGet();
+            rejected.increment();
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        PushConnection connection = new PushConnection(userId, emitter, queueCapacity, dropped);
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> remove(connection));
+        // 추가/제거를 compute 안에서 해야 비어서 지워지는 집합에 새 연결이 들어가는 일이 없음
+        Set<PushConnection> userConnections = connections.compute(userId, (key, current) -> {
+            Set<PushConnection> updated = current != null ? current : ConcurrentHashMap.newKeySet();
+            updated.add(connection);
+            return updated;
+        });
+        if (userConnections.size() > maxConnectionsPerUser) {
+            userConnections.stream()
+                    .filter(other -> other != connection)
+                    .min(Comparator.comparingLong(other -> other.connectedAt))
+                    .ifPresent(this::close);
+        }
+        if (lastEventId != null && !lastEventId.isEmpty() && !lastEventId.equals(currentToken(userId))) {
+            offer(connection, PushConnection.RESYNC);
+        } else {
+            // 응답 헤더를 바로 내보내 클라이언트가 연결된 것을 알게 함
+            offer(connection, PushConnection.HEARTBEAT);
+        }
+        return emitter;
+    }
+
+    // UserChangeLog 가 커밋 후에 부름
+    public void publish(String userId, List<UserChange> changes) {
+        Set<PushConnection> userConnections = connections.get(userId);
+        if (userConnections == null) {
+            return;
+        }
+        for (UserChange change : changes) {
+            PushEvent event = new PushEvent(change.getChangeType(), change.getEntityId(), change.getParentId(),
+                    PageCursor.encode(change.getSeq()));
+            for (PushConnection connection : userConnections) {
+                offer(connection, event);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${push.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        for (Set<PushConnection> userConnections : connections.values()) {
+            for (PushConnection connection : userConnections) {
+                offer(connection, PushConnection.HEARTBEAT);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connections.values().forEach(userConnections -> userConnections.forEach(this::close));
+        senders.shutdownNow();
+    }
+
+    private void offer(PushConnection connection, Object event) {
+        switch (connection.offer(event)) {
+            case DRAIN -> senders.execute(() -> drain(connection));
+            case STALLED -> {
+                log.debug("push connection stalled: user={}", connection.userId);
+                close(connection);
+            }
+            case QUEUED, CLOSED -> {
+            }
+        }
+    }
+
+    private void drain(PushConnection connection) {
+        Object event;
+        while ((event = connection.poll()) != null) {
+            try {
+                connection.emitter.send(toSse(event));
+                if (event instanceof PushEvent) {
+                    sent.increment();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // 클라이언트가 끊었거나 이미 끝난 연결
+                remove(connection);
+                connection.emitter.completeWithError(e);
+                return;
+            }
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder toSse(Object event) {
+        if (event == PushConnection.HEARTBEAT) {
+            return SseEmitter.event().comment("");
+        }
+        if (event == PushConnection.RESYNC) {
+            return SseEmitter.event().name("resync").data("{}", MediaType.APPLICATION_JSON);
+        }
+        PushEvent change = (PushEvent) event;
+        return SseEmitter.event().id(change.getToken()).name("change").data(change, MediaType.APPLICATION_JSON);
+    }
+
+    private String currentToken(String userId) {
+        SyncState state = syncRepository.findSyncState(userId);
+        return PageCursor.encode(state == null ? 0 : state.getLastSeq());
+    }
+
+    private void close(PushConnection connection) {
+        remove(connection);
+        connection.emitter.complete();
+    }
+
+    // 여러 콜백에서 불려도 한 번만 셈
+    private void remove(PushConnection connection) {
+        boolean[] removed = new boolean[1];
+        connections.computeIfPresent(connection.userId, (key, current) -> {
+            removed[0] = current.remove(connection);
+            return current.isEmpty() ? null : current;
+        });
+        if (removed[0]) {
+            connection.close();
+            connectionCount.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,454 @@
+package com.example.demo.recommendation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.demo.common.CsvUtils;
+import com.example.demo.common.IdInterner;
+import com.example.demo.common.IntArrayList;
+import com.example.demo.common.IntIntHashMap;
+import com.example.demo.spotify.model.SpotifyTrack;
+
+// 플레이리스트/추천 결과를 "바구니"로 보고 트랙-트랙, 아티스트-트랙, 장르-트랙 동시 등장 횟수를 세는 인덱스.
+// 바구니 안에서 window 이내로 가까운 트랙끼리만 쌍으로 세서 큰 플레이리스트도 O(n * window) 로 유지.
+// 스레드 안전하지 않음 (RecommendationEngine 이 락을 관리).
+public class CooccurrenceIndex {
+
+    private static final double TRACK_WEIGHT = 1.0;
+    private static final double ARTIST_WEIGHT = 0.6;
+    private static final double GENRE_WEIGHT = 0.3;
+    private static final int[] NO_IDS = new int[0];
+
+    private final int window;
+
+    private final IdInterner tracks = new IdInterner();
+    private final IdInterner artists = new IdInterner();
+    private final IdInterner genres = new IdInterner();
+
+    // 트랙 int id 기준 메타데이터/아티스트/등장 횟수
+    private final List<SpotifyTrack> metadata = new ArrayList<>();
+    private final List<int[]> trackArtists = new ArrayList<>();
+    private int[] popularity = new int[1024];
+
+    private final List<IntIntHashMap> trackNeighbors = new ArrayList<>();
+    private final List<IntIntHashMap> artistTracks = new ArrayList<>();
+    private final List<IntIntHashMap> genreTracks = new ArrayList<>();
+
+    private final Map<String, Basket> baskets = new HashMap<>();
+
+    public CooccurrenceIndex(int window) {
+        this.window = window;
+    }
+
+    public static String playlistBasket(int playlistId) {
+        return "p" + playlistId;
+    }
+
+    public static String playlistBasket(String playlistId) {
+        return "p" + playlistId;
+    }
+
+    public static String recommendationBasket(String recommendationId) {
+        return "r" + recommendationId;
+    }
+
+    public int trackCount() {
+        return tracks.size();
+    }
+
+    public int basketCount() {
+        return baskets.size();
+    }
+
+    // 바구니에 해당 playlist_tracks 행이 들어있는지
+    public boolean hasRow(String basketKey, int rowId) {
+        Basket basket = baskets.get(basketKey);
+        return basket != null && basket.rowIds.indexOf(rowId) >= 0;
+    }
+
+    public boolean hasMembers(String basketKey) {
+        Basket basket = baskets.get(basketKey);
+        return basket != null && !basket.members.isEmpty();
+    }
+
+    // 더 이상 어느 바구니에도 없는데 인터닝된 채 남은 트랙 비율
+    public double deadTrackRatio() {
+        int size = tracks.size();
+        if (size == 0) {
+            return 0;
+        }
+        int dead = 0;
+        for (int t = 0; t < size; t++) {
+            if (popularity[t] == 0) {
+                dead++;
+            }
+        }
+        return (double) dead / size;
+    }
+
+    // 삭제로 듬성듬성해진 해시맵과 배열을 줄임
+    public void trim() {
+        for (IntIntHashMap neighbors : trackNeighbors) {
+            if (neighbors != null) {
+                neighbors.trim();
+            }
+        }
+        artistTracks.forEach(IntIntHashMap::trim);
+        genreTracks.forEach(IntIntHashMap::trim);
+        for (Basket basket : baskets.values()) {
+            basket.members.trim();
+            basket.rowIds.trim();
+        }
+    }
+
+    // DB 를 다시 읽지 않고 현재 바구니만으로 새 인덱스를 만듦. 죽은 트랙/아티스트 id 가 정리됨.
+    public CooccurrenceIndex compactedCopy() {
+        CooccurrenceIndex copy = new CooccurrenceIndex(window);
+        for (Map.Entry<String, Basket> entry : baskets.entrySet()) {
+            Basket basket = entry.getValue();
+            if (basket.seedArtists.length > 0 || basket.seedGenres.length > 0) {
+                copy.setSeeds(entry.getKey(), join(artists, basket.seedArtists), join(genres, basket.seedGenres));
+            }
+            for (int i = 0; i < basket.members.size(); i++) {
+                copy.addTrack(entry.getKey(), metadata.get(basket.members.get(i)), basket.rowIds.get(i));
+            }
+        }
+        return copy;
+    }
+
+    // 추천 바구니의 시드 아티스트/장르 설정. 이미 들어있는 트랙에도 반영.
+    public void setSeeds(String basketKey, String artistIds, String artistGenres) {
+        Basket basket = baskets.computeIfAbsent(basketKey, key -> new Basket());
+        for (int i = 0; i < basket.members.size(); i++) {
+            applySeeds(basket, basket.members.get(i), -1);
+        }
+        basket.seedArtists = internAll(artists, artistTracks, CsvUtils.split(artistIds));
+        basket.seedGenres = internAll(genres, genreTracks, CsvUtils.split(artistGenres));
+        for (int i = 0; i < basket.members.size(); i++) {
+            applySeeds(basket, basket.members.get(i), 1);
+        }
+    }
+
+    public void addTrack(String basketKey, SpotifyTrack track) {
+        addTrack(basketKey, track, 0);
+    }
+
+    // rowId 는 playlist_tracks.id (없으면 0). 같은 곡이 한 플레이리스트에 여러 번 있어도 정확히 한 건을 지우기 위함.
+    public void addTrack(String basketKey, SpotifyTrack track, int rowId) {
+        if (track.getTrackId() == null || track.getTrackId().isEmpty()) {
+            return;
+        }
+        int t = internTrack(track);
+        Basket basket = baskets.computeIfAbsent(basketKey, key -> new Basket());
+        IntArrayList members = basket.members;
+        int n = members.size();
+        for (int i = Math.max(0, n - window); i < n; i++) {
+            pair(members.get(i), t, 1);
+        }
+        members.add(t);
+        basket.rowIds.add(rowId);
+        popularity[t]++;
+        for (int artist : trackArtists.get(t)) {
+            artistTracks.get(artist).addTo(t, 1);
+        }
+        applySeeds(basket, t, 1);
+    }
+
+    // 바구니에서 해당 트랙 한 건 제거. rowId 가 있으면 그 행을, 없으면 처음 나오는 같은 곡을 지움.
+    public boolean removeTrack(String basketKey, String trackId, int rowId) {
+        Basket basket = baskets.get(basketKey);
+        int t = tracks.find(trackId);
+        if (basket == null || t < 0) {
+            return false;
+        }
+        int k = rowId > 0 ? basket.rowIds.indexOf(rowId) : basket.members.indexOf(t);
+        if (k < 0 || basket.members.get(k) != t) {
+            return false;
+        }
+        IntArrayList members = basket.members;
+        int n = members.size();
+        for (int i = Math.max(0, k - window); i <= Math.min(n - 1, k + window); i++) {
+            if (i != k) {
+                pair(members.get(i), t, -1);
+            }
+        }
+        // k 를 빼면 k 양쪽에서 거리가 window + 1 이던 쌍이 window 가 되어 새로 묶임
+        for (int i = Math.max(0, k - window); i < k; i++) {
+            int j = i + window + 1;
+            if (j > k && j < n) {
+                pair(members.get(i), members.get(j), 1);
+            }
+        }
+        members.removeAt(k);
+        basket.rowIds.removeAt(k);
+        forget(basket, t);
+        if (members.isEmpty() && basket.seedArtists.length == 0 && basket.seedGenres.length == 0) {
+            baskets.remove(basketKey);
+        }
+        return true;
+    }
+
+    public boolean removeBasket(String basketKey) {
+        Basket basket = baskets.remove(basketKey);
+        if (basket == null) {
+            return false;
+        }
+        IntArrayList members = basket.members;
+        int n = members.size();
+        for (int k = 0; k < n; k++) {
+            for (int i = k + 1; i <= Math.min(n - 1, k + window); i++) {
+                pair(members.get(k), members.get(i), -1);
+            }
+            forget(basket, members.get(k));
+        }
+        return true;
+    }
+
+    // 시드 트랙/아티스트/장르로 점수를 매겨 상위 limit 개 트랙 반환 (시드 트랙 제외)
+    public List<SpotifyTrack> recommend(Collection<String> seedTracks, Collection<String> seedArtists,
+            Collection<String> seedGenres, int limit) {
+        ScoreTable scores = new ScoreTable();
+        IntIntHashMap excluded = new IntIntHashMap();
+
+        for (String trackId : seedTracks) {
+            int s = tracks.find(trackId);
+            if (s < 0) {
+                continue;
+            }
+            excluded.addTo(s, 1);
+            IntIntHashMap neighbors = trackNeighbors.get(s);
+            if (neighbors == null) {
+                continue;
+            }
+            double seedPopularity = Math.max(1, popularity[s]);
+            neighbors.forEach((candidate, count) -> scores.add(candidate,
+                    TRACK_WEIGHT * count / Math.sqrt(seedPopularity * Math.max(1, popularity[candidate]))));
+        }
+        for (String artistId : seedArtists) {
+            int a = artists.find(artistId);
+            if (a >= 0) {
+                artistTracks.get(a).forEach((candidate, count) -> scores.add(candidate,
+                        ARTIST_WEIGHT * count / Math.sqrt(Math.max(1, popularity[candidate]))));
+            }
+        }
+        for (String genre : seedGenres) {
+            int g = genres.find(genre);
+            if (g >= 0) {
+                genreTracks.get(g).forEach((candidate, count) -> scores.add(candidate,
+                        GENRE_WEIGHT * count / Math.sqrt(Math.max(1, popularity[candidate]))));
+            }
+        }
+
+        int[] top = scores.top(limit, excluded);
+        List<SpotifyTrack> result = new ArrayList<>(top.length);
+        for (int t : top) {
+            result.add(metadata.get(t));
+        }
+        return result;
+    }
+
+    private int internTrack(SpotifyTrack track) {
+        int t = tracks.intern(track.getTrackId());
+        SpotifyTrack copy = new SpotifyTrack();
+        copy.setTrackId(track.getTrackId());
+        copy.setTitle(track.getTitle());
+        copy.setArtistIds(track.getArtistIds());
+        copy.setArtistNames(track.getArtistNames());
+        copy.setPreviewUrl(track.getPreviewUrl());
+        copy.setAlbumImageUrl(track.getAlbumImageUrl());
+        copy.setDurationMs(track.getDurationMs());
+        if (t == metadata.size()) {
+            metadata.add(copy);
+            trackArtists.add(internAll(artists, artistTracks, CsvUtils.split(track.getArtistIds())));
+            trackNeighbors.add(null);
+            if (t == popularity.length) {
+                popularity = Arrays.copyOf(popularity, popularity.length << 1);
+            }
+        } else {
+            // 메타데이터는 최신 값으로 갱신 (아티스트 구성은 처음 본 값 유지)
+            metadata.set(t, copy);
+        }
+        return t;
+    }
+
+    private static int[] internAll(IdInterner interner, List<IntIntHashMap> postings, List<String> values) {
+        if (values.isEmpty()) {
+            return NO_IDS;
+        }
+        int[] ids = new int[values.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = interner.intern(values.get(i));
+            if (ids[i] == postings.size()) {
+                postings.add(new IntIntHashMap());
+            }
+        }
+        return ids;
+    }
+
+    private static String join(IdInterner interner, int[] ids) {
+        StringBuilder joined = new StringBuilder();
+        for (int id : ids) {
+            if (joined.length() > 0) {
+                joined.append(',');
+            }
+            joined.append(interner.value(id));
+        }
+        return joined.toString();
+    }
+
+    private void forget(Basket basket, int t) {
+        popularity[t]--;
+        for (int artist : trackArtists.get(t)) {
+            artistTracks.get(artist).addTo(t, -1);
+        }
+        applySeeds(basket, t, -1);
+    }
+
+    private void applySeeds(Basket basket, int t, int delta) {
+        for (int artist : basket.seedArtists) {
+            artistTracks.get(artist).addTo(t, delta);
+        }
+        for (int genre : basket.seedGenres) {
+            genreTracks.get(genre).addTo(t, delta);
+        }
+    }
+
+    private void pair(int a, int b, int delta) {
+        if (a == b) {
+            return;
+        }
+        neighbors(a).addTo(b, delta);
+        neighbors(b).addTo(a, delta);
+    }
+
+    private IntIntHashMap neighbors(int t) {
+        IntIntHashMap neighbors = trackNeighbors.get(t);
+        if (neighbors == null) {
+            neighbors = new IntIntHashMap();
+            trackNeighbors.set(t, neighbors);
+        }
+        return neighbors;
+    }
+
+    private static final class Basket {
+        private final IntArrayList members = new IntArrayList(4);
+        private final IntArrayList rowIds = new IntArrayList(4);
+        private int[] seedArtists = NO_IDS;
+        private int[] seedGenres = NO_IDS;
+    }
+
+    // 후보 트랙 점수 누적용 int -> double 오픈 어드레싱 테이블
+    private static final class ScoreTable {
+        private int[] keys = new int[256];
+        private double[] values = new double[256];
+        private int size;
+
+        void add(int key, double score) {
+            int mask = keys.length - 1;
+            int slot = IntIntHashMap.mix(key) & mask;
+            while (keys[slot] != 0) {
+                if (keys[slot] == key + 1) {
+                    values[slot] += score;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key + 1;
+            values[slot] = score;
+            if (++size > keys.length >> 1) {
+                grow();
+            }
+        }
+
+        // 최소 힙으로 상위 limit 개를 고른 뒤 점수 내림차순으로 반환
+        int[] top(int limit, IntIntHashMap excluded) {
+            int[] heapIds = new int[limit];
+            double[] heapScores = new double[limit];
+            int heapSize = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == 0 || excluded.containsKey(keys[i] - 1)) {
+                    continue;
+                }
+                if (heapSize < limit) {
+                    heapIds[heapSize] = keys[i] - 1;
+                    heapScores[heapSize] = values[i];
+                    siftUp(heapIds, heapScores, heapSize++);
+                } else if (limit > 0 && values[i] > heapScores[0]) {
+                    heapIds[0] = keys[i] - 1;
+                    heapScores[0] = values[i];
+                    siftDown(heapIds, heapScores, heapSize);
+                }
+            }
+            int[] result = new int[heapSize];
+            for (int i = heapSize - 1; i >= 0; i--) {
+                result[i] = heapIds[0];
+                heapIds[0] = heapIds[i];
+                heapScores[0] = heapScores[i];
+                siftDown(heapIds, heapScores, i);
+            }
+            return result;
+        }
+
+        private static void siftUp(int[] ids, double[] scores, int index) {
+            while (index > 0) {
+                int parent = (index - 1) >> 1;
+                if (scores[parent] <= scores[index]) {
+                    return;
+                }
+                swap(ids, scores, parent, index);
+                index = parent;
+            }
+        }
+
+        private static void siftDown(int[] ids, double[] scores, int size) {
+            int index = 0;
+            while (true) {
+                int smallest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && scores[left] < scores[smallest]) {
+                    smallest = left;
+                }
+                if (right < size && scores[right] < scores[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == index) {
+                    return;
+                }
+                swap(ids, scores, smallest, index);
+                index = smallest;
+            }
+        }
+
+        private static void swap(int[] ids, double[] scores, int a, int b) {
+            int id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            double[] oldValues = values;
+            keys = new int[oldKeys.length << 1];
+            values = new double[oldKeys.length << 1];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int slot = IntIntHashMap.mix(oldKeys[i] - 1) & mask;
+                    while (keys[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+    }
+}
@@ -16,6 +16,8 @@ public class Recommendation {
     private String artistNames;
     private String artistGenres;
     private String albumImageUrl;
+    private String seedFingerprint; // 정규화한 시드 집합의 SHA-256 (SeedFingerprint)
+    private String resultId; // 같은 시드의 기존 추천 결과를 가리킬 때 그 추천 id. null 이면 자기 결과
     private Timestamp createDt;
     private Timestamp updateDt;
 }
@@ -3,6 +3,7 @@ package com.example.demo.recommendation;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,19 +11,35 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.demo.cache.ResourceVersions;
+import com.example.demo.common.CursorPage;
+import com.example.demo.common.NdjsonWriter;
 import com.example.demo.spotify.model.SpotifyTrack;
 
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @RestController
 @RequestMapping("/api/recommendation")
 public class RecommendationController {
     @Autowired
     private RecommendationService recommendationService;
 
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private NdjsonWriter ndjsonWriter;
+
+    // 응답의 resultId 가 있으면 같은 시드의 기존 결과를 재사용한 것이므로 곡 저장(/tracks/save)을 건너뛰어도 됨
     @PostMapping
-    public void createRecommendation(@RequestBody Recommendation request) {
-        recommendationService.createRecommendation(request);
+    public ResponseEntity<Recommendation> createRecommendation(@RequestBody Recommendation request) {
+        return ResponseEntity.ok(recommendationService.createRecommendation(request));
     }
 
     // 추천 기반이 될 데이터 호출
@@ -40,7 +57,7 @@ public class RecommendationController {
     @PostMapping("/tracks/save")
     public ResponseEntity<?> saveRecommendedTracks(@RequestBody List<SpotifyTrack> tracks) {
         try {
-            System.out.println("추천 결과 저장 :: " + tracks);
+            log.debug("추천 결과 저장 :: {}곡", tracks.size());
             recommendationService.saveRecommendedTracks(tracks);
             return ResponseEntity.ok().body("Tracks saved successfully");
         } catch (Exception e) {
@@ -51,8 +68,35 @@ public class RecommendationController {
     
     // 추천 결과 조회
     @GetMapping("/{recommendationId}/tracks")
-    public ResponseEntity<List<SpotifyTrack>> getRecommendationTracks(@PathVariable String recommendationId) {
+    public ResponseEntity<List<SpotifyTrack>> getRecommendationTracks(@PathVariable String recommendationId, WebRequest request) {
+        // 버전이 같으면 DB 를 거치지 않고 304
+        String etag = resourceVersions.etag(ResourceVersions.recommendationTracks(recommendationId));
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         List<SpotifyTrack> tracks = recommendationService.getTracksByRecommendationId(recommendationId);
-        return ResponseEntity.ok(tracks);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        if (etag != null) {
+            response.eTag(etag);
+        }
+        return response.body(tracks);
+    }
+
+    // 추천 결과 커서 페이지 조회 (cursor 는 이전 응답의 nextCursor, 첫 페이지는 생략)
+    @GetMapping("/{recommendationId}/tracks/page")
+    public ResponseEntity<CursorPage<SpotifyTrack>> getRecommendationTracksPage(@PathVariable String recommendationId,
+            @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return ResponseEntity.ok(recommendationService.getTracksPageByRecommendationId(recommendationId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    // 추천 결과 전체를 NDJSON 으로 스트리밍
+    @GetMapping(value = "/{recommendationId}/tracks/stream", produces = NdjsonWriter.CONTENT_TYPE)
+    public ResponseEntity<StreamingResponseBody> streamRecommendationTracks(@PathVariable String recommendationId) {
+        StreamingResponseBody body = ndjsonWriter.<SpotifyTrack>write(consumer -> recommendationService.streamTracksByRecommendationId(recommendationId, consumer));
+        return ResponseEntity.ok().body(body);
     }
 }
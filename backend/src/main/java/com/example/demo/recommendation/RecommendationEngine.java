@@ -0,0 +1,329 @@
+package com.example.demo.recommendation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.change.ChangeEvent;
+import com.example.demo.change.ChangeListener;
+import com.example.demo.common.CsvUtils;
+import com.example.demo.playlist.PlaylistRepository;
+import com.example.demo.playlist.PlaylistTrack;
+import com.example.demo.spotify.model.SpotifyTrack;
+
+import lombok.extern.slf4j.Slf4j;
+
+// playlist_tracks / recommendation_tracks 로 만든 동시 등장 인덱스로 서버에서 추천을 계산.
+// 전체 로드는 기동 시와 변경 피드 유실(overflow) 시에만 하고, 그 외에는 ChangeFeed 이벤트로 증분 반영.
+@Slf4j
+@Service
+public class RecommendationEngine implements ChangeListener {
+
+    @Autowired
+    private PlaylistRepository playlistRepository;
+
+    @Autowired
+    private RecommendationRepository recommendationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${recommendation.engine.window:50}")
+    private int window;
+
+    @Value("${recommendation.engine.max-limit:100}")
+    private int maxLimit;
+
+    // 죽은 트랙 비율이 이 값을 넘으면 compaction 때 메모리 상에서 인덱스를 새로 만듦
+    @Value("${recommendation.engine.compaction-dead-ratio:0.3}")
+    private double compactionDeadRatio;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // 전체 로드나 압축이 진행 중 (둘 다 pending 을 쓰므로 한 번에 하나만)
+    private final AtomicBoolean loading = new AtomicBoolean();
+    // 진행 중에 overflow 가 와서 끝난 뒤 다시 로드해야 함
+    private final AtomicBoolean reloadRequested = new AtomicBoolean();
+    private CooccurrenceIndex index;
+    // 전체 로드/압축 중 들어온 이벤트. 끝나면 새 인덱스에 반영
+    private List<ChangeEvent> pending;
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return index != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<SpotifyTrack> recommend(Recommendation seeds, int limit) {
+        List<String> trackIds = CsvUtils.split(seeds.getTrackIds());
+        List<String> artistIds = CsvUtils.split(seeds.getArtistIds());
+        List<String> genres = CsvUtils.split(seeds.getArtistGenres());
+        lock.readLock().lock();
+        try {
+            if (index == null) {
+                return List.of();
+            }
+            return index.recommend(trackIds, artistIds, genres, Math.max(0, Math.min(limit, maxLimit)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reloadAsync();
+    }
+
+    @Override
+    public void onChanges(List<ChangeEvent> batch) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.addAll(batch);
+            } else if (index != null) {
+                for (ChangeEvent event : batch) {
+                    apply(index, event);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onOverflow() {
+        reloadAsync();
+    }
+
+    // 죽은 트랙이 많으면 현재 인덱스를 복사해 새로 만들고, 아니면 제자리에서 해시맵만 줄임.
+    // 복사하는 동안 들어온 이벤트는 pending 에 모았다가 교체할 때 새 인덱스에 반영하므로 쓰기 락은 교체 순간에만 잡음
+    @Override
+    public void compact() {
+        if (!loading.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            compactIndex();
+        } finally {
+            loading.set(false);
+        }
+        startLoader();
+    }
+
+    private void compactIndex() {
+        long started = System.currentTimeMillis();
+        CooccurrenceIndex current;
+        double deadRatio;
+        lock.readLock().lock();
+        try {
+            current = index;
+            if (current == null) {
+                return;
+            }
+            deadRatio = current.deadTrackRatio();
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (deadRatio <= compactionDeadRatio) {
+            lock.writeLock().lock();
+            try {
+                current.trim();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("recommendation index trimmed: tracks={}, baskets={}, {}ms",
+                    current.trackCount(), current.basketCount(), System.currentTimeMillis() - started);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // pending 이 있는 동안 current 는 바뀌지 않으므로 recommend() 와 함께 읽기만 함
+        CooccurrenceIndex copy = null;
+        try {
+            copy = current.compactedCopy();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                CooccurrenceIndex target = copy != null ? copy : current;
+                for (ChangeEvent event : pending) {
+                    apply(target, event);
+                }
+                pending = null;
+                index = target;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("recommendation index compacted: tracks={}, baskets={}, {}ms",
+                copy.trackCount(), copy.basketCount(), System.currentTimeMillis() - started);
+    }
+
+    private void reloadAsync() {
+        reloadRequested.set(true);
+        startLoader();
+    }
+
+    // 로드(또는 압축) 중에 들어온 요청은 reloadRequested 로 남겨 두었다가 끝난 뒤 다시 로드.
+    // 그 사이 버려진 이벤트는 pending 에도 없으므로 이미 시작한 로드로는 복구되지 않음
+    private void startLoader() {
+        if (!reloadRequested.get() || !loading.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofPlatform().name("recommendation-index-loader").daemon(true).start(() -> {
+            try {
+                while (reloadRequested.getAndSet(false)) {
+                    try {
+                        reload();
+                    } catch (RuntimeException e) {
+                        log.error("recommendation index load failed", e);
+                        lock.writeLock().lock();
+                        try {
+                            pending = null;
+                        } finally {
+                            lock.writeLock().unlock();
+                        }
+                    }
+                }
+            } finally {
+                loading.set(false);
+            }
+            // loading 을 내리기 직전에 들어온 요청
+            startLoader();
+        });
+    }
+
+    private void reload() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        CooccurrenceIndex loaded = load();
+
+        lock.writeLock().lock();
+        try {
+            // 스캔 결과에 이미 포함된 쓰기는 건너뛰고 나머지만 반영.
+            // auto-increment id 는 커밋 순서와 다르므로 id 크기가 아니라 실제로 스캔된 행인지로 판단
+            for (ChangeEvent event : pending) {
+                if (event instanceof ChangeEvent.PlaylistTracksAdded added) {
+                    for (PlaylistTrack track : added.tracks()) {
+                        if (!loaded.hasRow(CooccurrenceIndex.playlistBasket(track.getPlaylistId()), track.getId())) {
+                            addPlaylistTrack(loaded, track);
+                        }
+                    }
+                    continue;
+                }
+                if (event instanceof ChangeEvent.RecommendationTracksAdded added && !added.tracks().isEmpty()
+                        && loaded.hasMembers(CooccurrenceIndex.recommendationBasket(added.tracks().get(0).getRecommendationId()))) {
+                    continue;
+                }
+                apply(loaded, event);
+            }
+            pending = null;
+            index = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("recommendation index loaded: tracks={}, baskets={}, {}ms",
+                loaded.trackCount(), loaded.basketCount(), System.currentTimeMillis() - started);
+    }
+
+    private void apply(CooccurrenceIndex target, ChangeEvent event) {
+        switch (event) {
+            case ChangeEvent.PlaylistTracksAdded added -> {
+                for (PlaylistTrack track : added.tracks()) {
+                    addPlaylistTrack(target, track);
+                }
+            }
+            case ChangeEvent.PlaylistTracksRemoved removed -> {
+                for (PlaylistTrack track : removed.tracks()) {
+                    target.removeTrack(CooccurrenceIndex.playlistBasket(track.getPlaylistId()), track.getTrackId(), track.getId());
+                }
+            }
+            case ChangeEvent.PlaylistRemoved removed -> target.removeBasket(
+                    CooccurrenceIndex.playlistBasket(removed.playlistId()));
+            case ChangeEvent.RecommendationCreated created -> target.setSeeds(
+                    CooccurrenceIndex.recommendationBasket(created.recommendation().getRecommendationId()),
+                    created.recommendation().getArtistIds(), created.recommendation().getArtistGenres());
+            case ChangeEvent.RecommendationTracksAdded added -> {
+                for (SpotifyTrack track : added.tracks()) {
+                    target.addTrack(CooccurrenceIndex.recommendationBasket(track.getRecommendationId()), track);
+                }
+            }
+            case ChangeEvent.RecommendationRemoved removed -> target.removeBasket(
+                    CooccurrenceIndex.recommendationBasket(removed.recommendationId()));
+            default -> {
+            }
+        }
+    }
+
+    private static void addPlaylistTrack(CooccurrenceIndex target, PlaylistTrack track) {
+        target.addTrack(CooccurrenceIndex.playlistBasket(track.getPlaylistId()), toSpotifyTrack(track), track.getId());
+    }
+
+    // MyBatis Cursor 는 커넥션이 열려 있어야 하므로 트랜잭션 안에서 스트리밍.
+    // 변경 피드는 primary 쓰기에서 오므로 readOnly (replica) 로 읽으면 복제 지연만큼의 변경이 빠지거나 두 번 반영될 수 있어 primary 에서 읽음
+    private CooccurrenceIndex load() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        return transaction.execute(status -> {
+            CooccurrenceIndex built = new CooccurrenceIndex(window);
+            // 시드를 먼저 넣어야 추천 결과 트랙이 아티스트/장르에 연결됨
+            try (Cursor<Recommendation> seeds = recommendationRepository.scanRecommendationSeeds()) {
+                for (Recommendation seed : seeds) {
+                    built.setSeeds(CooccurrenceIndex.recommendationBasket(seed.getRecommendationId()),
+                            seed.getArtistIds(), seed.getArtistGenres());
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException("failed to scan recommendation seeds", e);
+            }
+            try (Cursor<SpotifyTrack> tracks = recommendationRepository.scanRecommendationTracks()) {
+                for (SpotifyTrack track : tracks) {
+                    built.addTrack(CooccurrenceIndex.recommendationBasket(track.getRecommendationId()), track);
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException("failed to scan recommendation tracks", e);
+            }
+            try (Cursor<PlaylistTrack> tracks = playlistRepository.scanPlaylistTracks()) {
+                for (PlaylistTrack track : tracks) {
+                    addPlaylistTrack(built, track);
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException("failed to scan playlist tracks", e);
+            }
+            return built;
+        });
+    }
+
+    public static SpotifyTrack toSpotifyTrack(PlaylistTrack track) {
+        SpotifyTrack spotifyTrack = new SpotifyTrack();
+        spotifyTrack.setTrackId(track.getTrackId());
+        spotifyTrack.setTitle(track.getTitle());
+        spotifyTrack.setArtistIds(track.getArtistIds());
+        spotifyTrack.setArtistNames(track.getArtistNames());
+        spotifyTrack.setPreviewUrl(track.getPreviewUrl());
+        spotifyTrack.setAlbumImageUrl(track.getAlbumImageUrl());
+        spotifyTrack.setDurationMs(track.getDurationMs());
+        return spotifyTrack;
+    }
+}
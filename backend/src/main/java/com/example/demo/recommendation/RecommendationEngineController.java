@@ -0,0 +1,51 @@
+package com.example.demo.recommendation;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.spotify.model.SpotifyTrack;
+
+@RestController
+@RequestMapping("/api/recommendation/engine")
+public class RecommendationEngineController {
+
+    @Autowired
+    private RecommendationEngine recommendationEngine;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    // 시드(trackIds/artistIds/artistGenres)로 서버 추천 결과 조회
+    @PostMapping
+    public ResponseEntity<List<SpotifyTrack>> recommend(@RequestBody Recommendation seeds,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (!recommendationEngine.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(recommendationEngine.recommend(seeds, limit));
+    }
+
+    // 저장된 추천 기록의 시드로 다시 추천
+    @GetMapping("/{recommendationId}")
+    public ResponseEntity<List<SpotifyTrack>> recommendFor(@PathVariable String recommendationId,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (!recommendationEngine.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        Recommendation seeds = recommendationService.getRecommendation(recommendationId);
+        if (seeds == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return ResponseEntity.ok(recommendationEngine.recommend(seeds, limit));
+    }
+}
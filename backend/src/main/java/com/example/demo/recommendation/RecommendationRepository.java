@@ -1,9 +1,12 @@
 package com.example.demo.recommendation;
 
+import java.sql.Timestamp;
 import java.util.List;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.cursor.Cursor;
 
+import com.example.demo.recommendation.SeedResultCache.SeedResult;
 import com.example.demo.spotify.model.SpotifyTrack;
 
 @Mapper
@@ -16,5 +19,36 @@ public interface RecommendationRepository {
     void insertRecommendationTracks(List<SpotifyTrack> tracks);
 
     List<SpotifyTrack> findTracksByRecommendationId(String recommendationId);
+
+    List<SpotifyTrack> findTracksPageByRecommendationId(String recommendationId, Integer afterId, int limit);
+
+    Cursor<SpotifyTrack> streamTracksByRecommendationId(String recommendationId);
+
+    Cursor<Recommendation> scanRecommendationSeeds();
+
+    Cursor<SpotifyTrack> scanRecommendationTracks();
+
+    // 시드 지문 -> 기존 추천 결과 (db/007_recommendation_result.sql)
+    SeedResult findSeedResult(String seedFingerprint);
+
+    String lockResultRecommendation(String resultId);
+
+    int upsertSeedResult(String seedFingerprint, String resultId, Timestamp expireDt);
+
+    List<String> findSeedFingerprintsByResultId(String resultId);
+
+    int deleteSeedResultsByResultId(String resultId);
+
+    List<String> findSeedFingerprintsByResultIds(List<String> resultIds);
+
+    int deleteSeedResultsByResultIds(List<String> resultIds);
+
+    List<Recommendation> findSeedFingerprints(List<String> recommendationIds);
+
+    // 다른 추천의 결과를 가리키는 (result_id 가 있는) 추천 id
+    List<String> findAliasedIds(List<String> recommendationIds);
+
+    // 이 결과들을 가리키는 추천 id
+    List<String> findAliasIdsByResultIds(List<String> resultIds);
     
 }
\ No newline at end of file
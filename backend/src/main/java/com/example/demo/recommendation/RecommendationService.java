@@ -1,21 +1,86 @@
 package com.example.demo.recommendation;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.demo.cache.ResourceVersions;
+import com.example.demo.change.ChangeEvent;
+import com.example.demo.change.ChangeFeed;
+import com.example.demo.common.AfterCommit;
+import com.example.demo.common.CursorPage;
+import com.example.demo.common.PageCursor;
+import com.example.demo.library.LibraryService;
 import com.example.demo.spotify.model.SpotifyTrack;
+import com.example.demo.sync.ChangeType;
+import com.example.demo.sync.UserChangeLog;
+import com.example.demo.track.Track;
+import com.example.demo.track.TrackCatalog;
+import com.github.benmanes.caffeine.cache.Cache;
 
 @Service
 public class RecommendationService {
 
     @Autowired
     private RecommendationRepository recommendationRepository;
+
+    @Autowired
+    private TrackCatalog trackCatalog;
+
+    @Autowired
+    private LibraryService libraryService;
+
+    @Autowired
+    private SeedResultCache seedResultCache;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private UserChangeLog userChangeLog;
+
+    @Autowired
+    private Cache<String, List<Recommendation>> historyCache;
+
+    @Autowired
+    private Cache<String, List<SpotifyTrack>> recommendationTracksCache;
+
+    // 페이지 조회 한 번에 돌려줄 최대 곡 수
+    @Value("${pagination.max-limit:500}")
+    private int maxPageLimit;
     
-	public void createRecommendation(Recommendation request) {
+    // 같은 시드 집합의 유효한 결과가 이미 있으면 resultId 에 그 추천 id 를 채워서 저장함.
+    // 이 경우 클라이언트는 곡을 새로 받아 저장하지 않고 바로 /{recommendationId}/tracks 를 조회하면 됨
+    @Transactional
+	public Recommendation createRecommendation(Recommendation request) {
+        request.setSeedFingerprint(SeedFingerprint.of(request));
+        request.setResultId(request.getSeedFingerprint() != null ? seedResultCache.find(request.getSeedFingerprint()) : null);
         // 추천 요청 데이터 저장
         recommendationRepository.insertRecommendation(request);
+        libraryService.indexRecommendation(request);
+        changeFeed.publish(new ChangeEvent.RecommendationCreated(request));
+        if (request.getUserId() != null) {
+            userChangeLog.record(request.getUserId(), ChangeType.HISTORY_CREATED, request.getRecommendationId());
+            AfterCommit.run(() -> {
+                historyCache.invalidate(request.getUserId());
+                resourceVersions.bump(ResourceVersions.history(request.getUserId()));
+            });
+        }
+        return request;
     }
 
     // 추천 기반이 될 데이터 호출
@@ -23,13 +88,76 @@ public class RecommendationService {
         return recommendationRepository.getRecommendation(recommendationId);
     }
     
-    // 추천 결과 저장
+    // 추천 결과 저장. 곡 메타데이터는 track 카탈로그에, recommendation_tracks 에는 track_id 만.
+    // 저장한 결과는 시드 지문으로 등록해 같은 시드의 다음 추천이 재사용하게 함.
+    // 이미 다른 결과를 가리키는 추천(재사용 안내를 무시하고 곡을 받아 온 클라이언트)의 곡은 다시 저장하지 않음
+    @Transactional
     public void saveRecommendedTracks(List<SpotifyTrack> tracks) {
+        trackCatalog.save(tracks.stream().map(Track::from).toList());
+        Set<String> recommendationIds = new LinkedHashSet<>();
+        for (SpotifyTrack track : tracks) {
+            if (track.getRecommendationId() != null) {
+                recommendationIds.add(track.getRecommendationId());
+            }
+        }
+        if (!recommendationIds.isEmpty()) {
+            Set<String> aliased = new HashSet<>(recommendationRepository.findAliasedIds(new ArrayList<>(recommendationIds)));
+            if (!aliased.isEmpty()) {
+                tracks = tracks.stream().filter(track -> !aliased.contains(track.getRecommendationId())).toList();
+                recommendationIds.removeAll(aliased);
+            }
+        }
+        if (tracks.isEmpty()) {
+            return;
+        }
         recommendationRepository.insertRecommendationTracks(tracks);
+        changeFeed.publish(new ChangeEvent.RecommendationTracksAdded(tracks));
+        // 곡이 바뀐 결과와 그 결과를 가리키는 추천 모두 캐시/ETag 를 갱신
+        Set<String> changedIds = new LinkedHashSet<>(recommendationIds);
+        if (!recommendationIds.isEmpty()) {
+            List<String> ids = new ArrayList<>(recommendationIds);
+            for (Recommendation saved : recommendationRepository.findSeedFingerprints(ids)) {
+                if (saved.getSeedFingerprint() != null) {
+                    seedResultCache.register(saved.getSeedFingerprint(), saved.getRecommendationId());
+                }
+            }
+            changedIds.addAll(recommendationRepository.findAliasIdsByResultIds(ids));
+        }
+        AfterCommit.run(() -> {
+            recommendationTracksCache.invalidateAll(changedIds);
+            changedIds.forEach(id -> resourceVersions.bump(ResourceVersions.recommendationTracks(id)));
+        });
     }
 
     // 추천 결과 조회
     public List<SpotifyTrack> getTracksByRecommendationId(String recommendationId) {
-        return recommendationRepository.findTracksByRecommendationId(recommendationId);
+        return recommendationTracksCache.get(recommendationId, recommendationRepository::findTracksByRecommendationId);
+    }
+
+    // id 기준 keyset 페이지. 커서 형식이 잘못되면 IllegalArgumentException
+    @Transactional(readOnly = true)
+    public CursorPage<SpotifyTrack> getTracksPageByRecommendationId(String recommendationId, String cursor, int limit) {
+        Integer afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            afterId = Integer.parseInt(PageCursor.decode(cursor, 1)[0]);
+        }
+        int pageSize = Math.max(1, Math.min(limit, maxPageLimit));
+        // 한 행 더 읽어서 다음 페이지 존재 여부 판단
+        List<SpotifyTrack> rows = recommendationRepository.findTracksPageByRecommendationId(recommendationId, afterId, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<SpotifyTrack> items = new ArrayList<>(rows.subList(0, pageSize));
+        return new CursorPage<>(items, PageCursor.encode(items.get(pageSize - 1).getId()));
+    }
+
+    // 결과셋을 한 행씩 넘김. 응답 스트리밍 동안 커넥션을 잡고 있으므로 readOnly 트랜잭션 안에서만 읽음
+    @Transactional(readOnly = true)
+    public void streamTracksByRecommendationId(String recommendationId, Consumer<SpotifyTrack> consumer) {
+        try (Cursor<SpotifyTrack> cursor = recommendationRepository.streamTracksByRecommendationId(recommendationId)) {
+            cursor.forEach(consumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
@@ -0,0 +1,43 @@
+package com.example.demo.recommendation;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+
+import com.example.demo.common.CsvUtils;
+
+// 추천 시드(trackIds / artistIds / artistGenres)의 지문.
+// 순서, 중복, 공백, 장르 대소문자가 달라도 같은 시드 집합이면 같은 값이 나오도록 정규화한 뒤 SHA-256 (hex 64자)
+public final class SeedFingerprint {
+
+    private SeedFingerprint() {
+    }
+
+    // 시드가 하나도 없으면 null
+    public static String of(Recommendation seeds) {
+        String canonical = "t:" + canonical(CsvUtils.split(seeds.getTrackIds()), false)
+                + "|a:" + canonical(CsvUtils.split(seeds.getArtistIds()), false)
+                + "|g:" + canonical(CsvUtils.split(seeds.getArtistGenres()), true);
+        if (canonical.equals("t:|a:|g:")) {
+            return null;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String canonical(List<String> values, boolean lowerCase) {
+        TreeSet<String> sorted = new TreeSet<>();
+        for (String value : values) {
+            sorted.add(lowerCase ? value.toLowerCase(Locale.ROOT) : value);
+        }
+        return String.join(",", sorted);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.demo.recommendation;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.common.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+// 시드 지문 -> 추천 결과(recommendation_tracks 를 가진 추천 id) 매핑.
+// recommendation_result 테이블이 원본이고 앞단에 크기 제한 메모리 캐시(seedResultCache)를 둠. 둘 다 ttl 이 지나면 무시.
+// 메모리 캐시는 노드마다 따로이고 다른 노드의 삭제를 모르므로, 찾은 결과 추천이 아직 있는지 호출한 트랜잭션 안에서 확인함.
+// 조회 결과는 recommendation.seed_results{source=memory|table|miss} 로 집계 (메모리 적중률은 /api/cache/stats 에도 나옴)
+@Component
+public class SeedResultCache {
+
+    public record SeedResult(String resultId, Instant expiresAt) {
+    }
+
+    @Autowired
+    private RecommendationRepository recommendationRepository;
+
+    // key: seedFingerprint
+    @Autowired
+    private Cache<String, SeedResult> seedResultCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${recommendation.seed-cache.ttl:24h}")
+    private Duration ttl;
+
+    private Counter memoryHits;
+    private Counter tableHits;
+    private Counter misses;
+
+    @PostConstruct
+    void init() {
+        memoryHits = counter("memory");
+        tableHits = counter("table");
+        misses = counter("miss");
+    }
+
+    // 유효한 기존 결과의 추천 id, 없으면 null. 쓰기 트랜잭션 안에서 불러야 함 (결과 추천 행에 커밋까지 공유 락을 잡음)
+    public String find(String fingerprint) {
+        Instant now = Instant.now();
+        SeedResult cached = seedResultCache.getIfPresent(fingerprint);
+        if (cached != null && cached.expiresAt().isAfter(now)) {
+            if (exists(cached.resultId())) {
+                memoryHits.increment();
+                return cached.resultId();
+            }
+            seedResultCache.invalidate(fingerprint);
+        }
+        SeedResult stored = recommendationRepository.findSeedResult(fingerprint);
+        if (stored != null && stored.expiresAt().isAfter(now) && exists(stored.resultId())) {
+            seedResultCache.put(fingerprint, stored);
+            tableHits.increment();
+            return stored.resultId();
+        }
+        misses.increment();
+        return null;
+    }
+
+    // 추천 결과가 저장된 뒤 호출. 이미 유효한 결과가 있으면 그대로 두고, 없거나 만료됐으면 이 결과로 교체
+    public void register(String fingerprint, String resultId) {
+        Instant expiresAt = Instant.now().plus(ttl);
+        recommendationRepository.upsertSeedResult(fingerprint, resultId, Timestamp.from(expiresAt));
+        AfterCommit.run(() -> seedResultCache.invalidate(fingerprint));
+    }
+
+    // 결과를 가진 추천이 삭제되면 새 추천이 그 결과를 가리키지 않도록 매핑 제거 (이미 가리키는 추천은 그대로 조회됨)
+    public void resultRemoved(String resultId) {
+        List<String> fingerprints = recommendationRepository.findSeedFingerprintsByResultId(resultId);
+        if (fingerprints.isEmpty()) {
+            return;
+        }
+        recommendationRepository.deleteSeedResultsByResultId(resultId);
+        AfterCommit.run(() -> seedResultCache.invalidateAll(fingerprints));
+    }
+
+    // resultRemoved 의 일괄 버전 (보존 기간 정리)
+    public void resultsRemoved(List<String> resultIds) {
+        List<String> fingerprints = recommendationRepository.findSeedFingerprintsByResultIds(resultIds);
+        if (fingerprints.isEmpty()) {
+            return;
+        }
+        recommendationRepository.deleteSeedResultsByResultIds(resultIds);
+        AfterCommit.run(() -> seedResultCache.invalidateAll(fingerprints));
+    }
+
+    private boolean exists(String resultId) {
+        return recommendationRepository.lockResultRecommendation(resultId) != null;
+    }
+
+    private Counter counter(String source) {
+        return Counter.builder("recommendation.seed_results")
+                .description("Seed fingerprint lookups by where the existing result was found")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.demo.runtime;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/runtime")
+public class RuntimeController {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    // 현재 스레드 모드와 가상 스레드 pinning 통계 (부하 테스트 결과와 같이 봄)
+    @GetMapping("/threads")
+    public ResponseEntity<Map<String, Object>> getThreads() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("virtualThreads", virtualThreads);
+        result.put("pinningMonitor", pinningMonitor.isRunning());
+        result.put("pinnedEvents", pinningMonitor.getPinnedEvents());
+        result.put("pinnedMillis", pinningMonitor.getPinnedMillis());
+        result.put("pinnedSites", pinningMonitor.getPinnedSites());
+        return ResponseEntity.ok(result);
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.demo.runtime;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+// 가상 스레드가 캐리어 스레드에 고정(pinning)되는 지점을 JFR jdk.VirtualThreadPinned 이벤트로 수집.
+// synchronized 블록 안에서 블로킹 I/O 를 하면 (예: 구버전 JDBC 드라이버) 캐리어를 잡고 있어 처리량이 떨어짐
+@Slf4j
+@Component
+public class VirtualThreadPinningMonitor {
+
+    private static final int MAX_SITES = 200;
+    private static final int LOGGED_FRAMES = 8;
+
+    @Value("${virtual-threads.pinning-monitor.enabled:true}")
+    private boolean enabled;
+
+    // 이보다 짧게 고정된 경우는 기록하지 않음
+    @Value("${virtual-threads.pinning-monitor.threshold:20ms}")
+    private Duration threshold;
+
+    private RecordingStream stream;
+
+    private final AtomicLong pinnedEvents = new AtomicLong();
+    private final AtomicLong pinnedNanos = new AtomicLong();
+    // 고정을 일으킨 첫 스택 프레임 -> 횟수
+    private final Map<String, LongAdder> sites = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            stream = new RecordingStream();
+            stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+            stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+            stream.startAsync();
+        } catch (RuntimeException e) {
+            log.warn("JFR 을 사용할 수 없어 가상 스레드 pinning 감시를 끔: {}", e.toString());
+            stream = null;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedEvents.incrementAndGet();
+        pinnedNanos.addAndGet(event.getDuration().toNanos());
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        String site = frames.isEmpty() ? "unknown" : describe(frames.get(siteIndex(frames)));
+        LongAdder count = sites.get(site);
+        if (count == null && sites.size() < MAX_SITES) {
+            count = sites.computeIfAbsent(site, key -> new LongAdder());
+        }
+        if (count != null) {
+            count.increment();
+        }
+        // 같은 지점은 처음 한 번만 스택을 남김
+        if (count != null && count.sum() == 1) {
+            StringBuilder trace = new StringBuilder();
+            int from = firstNonParkFrame(frames);
+            for (int i = from; i < Math.min(from + LOGGED_FRAMES, frames.size()); i++) {
+                trace.append("\n\tat ").append(describe(frames.get(i)));
+            }
+            log.warn("가상 스레드 pinning {}ms{}", event.getDuration().toMillis(), trace);
+        }
+    }
+
+    // JDK 내부 프레임을 건너뛴 첫 호출 지점 (synchronized 를 잡은 드라이버/애플리케이션 코드)
+    private static int siteIndex(List<RecordedFrame> frames) {
+        for (int i = 0; i < frames.size(); i++) {
+            String type = frames.get(i).getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return i;
+            }
+        }
+        return firstNonParkFrame(frames);
+    }
+
+    // 스택 맨 위의 VirtualThread park 프레임은 어디서나 같으므로 건너뜀
+    private static int firstNonParkFrame(List<RecordedFrame> frames) {
+        for (int i = 0; i < frames.size(); i++) {
+            if (!frames.get(i).getMethod().getType().getName().equals("java.lang.VirtualThread")) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    public long getPinnedEvents() {
+        return pinnedEvents.get();
+    }
+
+    public long getPinnedMillis() {
+        return pinnedNanos.get() / 1_000_000;
+    }
+
+    // 횟수 많은 순
+    public Map<String, Long> getPinnedSites() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        sites.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+                .forEach(e -> result.put(e.getKey(), e.getValue().sum()));
+        return result;
+    }
+}
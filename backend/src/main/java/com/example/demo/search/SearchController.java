@@ -0,0 +1,36 @@
+package com.example.demo.search;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.spotify.model.SpotifyTrack;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    @Autowired
+    private SearchService searchService;
+
+    @Value("${search.max-query-length:100}")
+    private int maxQueryLength;
+
+    // 사용자가 저장한 곡 (플레이리스트 곡 + 추천 기록 곡) 중 제목/아티스트가 검색어로 시작하는 곡. 초성 검색 가능
+    @GetMapping("/{userId}")
+    public ResponseEntity<?> search(@PathVariable String userId, @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (q.length() > maxQueryLength) {
+            return ResponseEntity.badRequest().body("검색어는 최대 " + maxQueryLength + "자까지 입력할 수 있습니다.");
+        }
+        List<SpotifyTrack> tracks = searchService.search(userId, q, limit);
+        return ResponseEntity.ok(tracks);
+    }
+}
@@ -0,0 +1,322 @@
+package com.example.demo.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.change.ChangeEvent;
+import com.example.demo.change.ChangeListener;
+import com.example.demo.history.HistoryRepository;
+import com.example.demo.history.HistoryService;
+import com.example.demo.playlist.Playlist;
+import com.example.demo.playlist.PlaylistRepository;
+import com.example.demo.playlist.PlaylistTrack;
+import com.example.demo.recommendation.Recommendation;
+import com.example.demo.recommendation.RecommendationEngine;
+import com.example.demo.recommendation.RecommendationRepository;
+import com.example.demo.spotify.model.SpotifyTrack;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// 사용자 저장 곡 검색 (입력 중 자동완성). 사용자별 UserSearchIndex 를 처음 검색할 때 만들어 searchIndexCache 에 둠.
+// 변경 피드의 곡 추가/삭제는 이벤트에 담긴 곡을 그대로 색인에 넣고 빼며, 출처 -> 소유자 맵 (owners) 으로 어느 색인인지 찾음.
+// 소비자 스레드에서는 DB 를 읽지 않음. 다른 결과를 가리키는 추천의 곡만 refreshers 에서 DB 로 읽어 채움.
+// 색인을 만드는 동안 온 이벤트는 모아 두었다가 캐시에 넣을 때 다시 적용하며, 스캔에 이미 들어간 변경은 건너뜀
+@Slf4j
+@Service
+public class SearchService implements ChangeListener {
+
+    @Autowired
+    private PlaylistRepository playlistRepository;
+
+    @Autowired
+    private RecommendationRepository recommendationRepository;
+
+    @Autowired
+    private HistoryRepository historyRepository;
+
+    @Autowired
+    private HistoryService historyService;
+
+    @Autowired
+    private Cache<String, UserSearchIndex> searchIndexCache;
+
+    @Value("${search.max-limit:50}")
+    private int maxLimit;
+
+    // 색인에 넣을 최근 추천 기록 수 (기록 조회와 같은 범위)
+    @Value("${history.max-items:500}")
+    private int maxHistoryItems;
+
+    // 출처 ("p"+플레이리스트 id, "r"+추천 id) -> 소유자. 색인됐거나 색인 중인 사용자의 출처만. compact 에서 정리
+    private final Map<String, String> owners = new ConcurrentHashMap<>();
+
+    // 색인을 만드는 중인 작업. 이 목록을 잠그고 이벤트를 적용하거나 만든 색인을 캐시에 넣음
+    private final List<Build> builds = new ArrayList<>();
+
+    private final ExecutorService refreshers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("search-refresh-", 0).factory());
+
+    public List<SpotifyTrack> search(String userId, String query, int limit) {
+        if (SearchText.queryWords(query).isEmpty()) {
+            return List.of();
+        }
+        return index(userId).search(query, Math.max(1, Math.min(limit, maxLimit)));
+    }
+
+    private UserSearchIndex index(String userId) {
+        UserSearchIndex index = searchIndexCache.getIfPresent(userId);
+        if (index != null) {
+            return index;
+        }
+        Build build = new Build(userId);
+        synchronized (builds) {
+            builds.add(build);
+        }
+        long started = System.currentTimeMillis();
+        try {
+            index = build(userId);
+        } catch (RuntimeException e) {
+            synchronized (builds) {
+                builds.remove(build);
+            }
+            throw e;
+        }
+        synchronized (builds) {
+            builds.remove(build);
+            if (build.overflowed) {
+                // 만드는 동안 버려진 이벤트가 있으므로 이번 결과만 쓰고 캐시에는 두지 않음
+                return index;
+            }
+            UserSearchIndex existing = searchIndexCache.asMap().putIfAbsent(userId, index);
+            if (existing != null) {
+                return existing;
+            }
+            // 만드는 동안 온 변경. 스캔에 이미 들어간 것은 건너뜀
+            Map<String, Boolean> scanned = new HashMap<>();
+            for (ChangeEvent event : build.pending) {
+                apply(userId, index, event, scanned);
+            }
+        }
+        log.debug("search index built: user={}, tracks={}, {}ms", userId, index.size(), System.currentTimeMillis() - started);
+        return index;
+    }
+
+    private UserSearchIndex build(String userId) {
+        UserSearchIndex index = new UserSearchIndex();
+        for (Playlist playlist : playlistRepository.getPlaylists(userId)) {
+            String source = playlistSource(String.valueOf(playlist.getId()));
+            owners.put(source, userId);
+            index.addSource(source);
+            for (PlaylistTrack track : playlistRepository.getPlaylistTracksById(String.valueOf(playlist.getId()))) {
+                index.addTrack(source, RecommendationEngine.toSpotifyTrack(track), track.getId());
+            }
+        }
+        for (Recommendation recommendation : historyRepository.getRecommendedHistory(userId, historyService.retentionCutoff(), maxHistoryItems)) {
+            String source = recommendationSource(recommendation.getRecommendationId());
+            owners.put(source, userId);
+            index.replaceSource(source, recommendationRepository.findTracksByRecommendationId(recommendation.getRecommendationId()));
+        }
+        return index;
+    }
+
+    @Override
+    public void onChanges(List<ChangeEvent> batch) {
+        Map<String, UserSearchIndex> indexes = searchIndexCache.asMap();
+        synchronized (builds) {
+            if (indexes.isEmpty() && builds.isEmpty()) {
+                return;
+            }
+            try {
+                for (ChangeEvent event : batch) {
+                    if (event instanceof ChangeEvent.RecommendationTracksAdded added) {
+                        // 여러 추천의 곡이 한 이벤트로 올 수 있으므로 추천별로 나눠 소유자를 찾음
+                        Map<String, List<SpotifyTrack>> byRecommendation = new LinkedHashMap<>();
+                        for (SpotifyTrack track : added.tracks()) {
+                            if (track.getRecommendationId() != null) {
+                                byRecommendation.computeIfAbsent(track.getRecommendationId(), key -> new ArrayList<>()).add(track);
+                            }
+                        }
+                        for (List<SpotifyTrack> tracks : byRecommendation.values()) {
+                            dispatch(indexes, new ChangeEvent.RecommendationTracksAdded(tracks));
+                        }
+                    } else {
+                        dispatch(indexes, event);
+                    }
+                }
+            } catch (RuntimeException e) {
+                // 일부만 반영된 색인이 남지 않게 모두 버림 (다음 검색 때 다시 만듦)
+                searchIndexCache.invalidateAll();
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void onOverflow() {
+        synchronized (builds) {
+            searchIndexCache.invalidateAll();
+            owners.clear();
+            for (Build build : builds) {
+                build.overflowed = true;
+            }
+        }
+    }
+
+    // 캐시에서 빠진 사용자의 소유자 항목 정리
+    @Override
+    public void compact() {
+        Map<String, UserSearchIndex> indexes = searchIndexCache.asMap();
+        synchronized (builds) {
+            owners.values().removeIf(owner -> !indexes.containsKey(owner)
+                    && builds.stream().noneMatch(build -> build.userId.equals(owner)));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshers.shutdownNow();
+    }
+
+    // 소유자를 아는 이벤트는 그 사용자의 색인과 색인 중인 작업에만, 모르는 이벤트는 색인 중인 작업 모두에 넘김
+    // (만드는 중인 색인에서 소유자가 아직 등록되지 않았을 수 있음. 다시 적용할 때 출처가 있는지로 거름)
+    private void dispatch(Map<String, UserSearchIndex> indexes, ChangeEvent event) {
+        if (event instanceof ChangeEvent.RecommendationCreated created && created.recommendation().getUserId() == null) {
+            return;
+        }
+        String owner = owner(event);
+        for (Build build : builds) {
+            if (owner == null || owner.equals(build.userId)) {
+                build.pending.add(event);
+            }
+        }
+        UserSearchIndex index = owner != null ? indexes.get(owner) : null;
+        if (index != null) {
+            apply(owner, index, event, null);
+        } else {
+            forget(event);
+        }
+    }
+
+    private String owner(ChangeEvent event) {
+        return switch (event) {
+            case ChangeEvent.PlaylistCreated created -> created.ownerId();
+            case ChangeEvent.PlaylistTracksAdded added -> added.tracks().isEmpty() ? null
+                    : owners.get(playlistSource(String.valueOf(added.tracks().get(0).getPlaylistId())));
+            case ChangeEvent.PlaylistTracksRemoved removed -> removed.tracks().isEmpty() ? null
+                    : owners.get(playlistSource(String.valueOf(removed.tracks().get(0).getPlaylistId())));
+            case ChangeEvent.PlaylistRemoved removed -> owners.get(playlistSource(removed.playlistId()));
+            case ChangeEvent.RecommendationCreated created -> created.recommendation().getUserId();
+            case ChangeEvent.RecommendationTracksAdded added -> owners.get(recommendationSource(added.tracks().get(0).getRecommendationId()));
+            case ChangeEvent.RecommendationRemoved removed -> owners.get(recommendationSource(removed.recommendationId()));
+        };
+    }
+
+    // scanned 는 색인을 만든 뒤 다시 적용할 때만 넘김: 추천 출처 -> 스캔에서 이미 곡을 읽었는지 (처음 볼 때 한 번만 판단)
+    private void apply(String userId, UserSearchIndex index, ChangeEvent event, Map<String, Boolean> scanned) {
+        switch (event) {
+            case ChangeEvent.PlaylistCreated created -> {
+                if (userId.equals(created.ownerId())) {
+                    String source = playlistSource(created.playlistId());
+                    owners.put(source, userId);
+                    index.addSource(source);
+                }
+            }
+            case ChangeEvent.PlaylistTracksAdded added -> {
+                for (PlaylistTrack track : added.tracks()) {
+                    String source = playlistSource(String.valueOf(track.getPlaylistId()));
+                    if (index.hasSource(source) && (scanned == null || !index.hasRow(source, track.getId()))) {
+                        index.addTrack(source, RecommendationEngine.toSpotifyTrack(track), track.getId());
+                    }
+                }
+            }
+            case ChangeEvent.PlaylistTracksRemoved removed -> {
+                for (PlaylistTrack track : removed.tracks()) {
+                    index.removeTrack(playlistSource(String.valueOf(track.getPlaylistId())), track.getTrackId(), track.getId());
+                }
+            }
+            case ChangeEvent.PlaylistRemoved removed -> {
+                String source = playlistSource(removed.playlistId());
+                index.removeSource(source);
+                owners.remove(source);
+            }
+            case ChangeEvent.RecommendationCreated created -> {
+                Recommendation recommendation = created.recommendation();
+                String source = recommendationSource(recommendation.getRecommendationId());
+                if (!userId.equals(recommendation.getUserId()) || (scanned != null && index.hasSource(source))) {
+                    return;
+                }
+                owners.put(source, userId);
+                index.addSource(source);
+                if (recommendation.getResultId() != null) {
+                    // 다른 결과의 곡을 가리키는 추천. 곡 이벤트가 오지 않으므로 소비자 스레드 밖에서 읽어 채움
+                    refreshers.execute(() -> refresh(userId, index, recommendation.getRecommendationId()));
+                }
+            }
+            case ChangeEvent.RecommendationTracksAdded added -> {
+                String source = recommendationSource(added.tracks().get(0).getRecommendationId());
+                if (!index.hasSource(source)
+                        || (scanned != null && scanned.computeIfAbsent(source, index::hasMembers))) {
+                    return;
+                }
+                for (SpotifyTrack track : added.tracks()) {
+                    index.addTrack(source, track, 0);
+                }
+            }
+            case ChangeEvent.RecommendationRemoved removed -> {
+                String source = recommendationSource(removed.recommendationId());
+                index.removeSource(source);
+                owners.remove(source);
+            }
+        }
+    }
+
+    // 캐시에 색인이 없는 사용자의 출처가 지워지면 소유자 항목만 지움
+    private void forget(ChangeEvent event) {
+        switch (event) {
+            case ChangeEvent.PlaylistRemoved removed -> owners.remove(playlistSource(removed.playlistId()));
+            case ChangeEvent.RecommendationRemoved removed -> owners.remove(recommendationSource(removed.recommendationId()));
+            default -> {
+            }
+        }
+    }
+
+    // 그 사이 추천이 지워졌으면 되살리지 않음. 실패하면 그 사용자의 색인을 버려 다음 검색 때 다시 만듦
+    private void refresh(String userId, UserSearchIndex index, String recommendationId) {
+        try {
+            index.replaceSourceIfPresent(recommendationSource(recommendationId),
+                    recommendationRepository.findTracksByRecommendationId(recommendationId));
+        } catch (RuntimeException e) {
+            log.warn("search index refresh failed: user={}, recommendation={}", userId, recommendationId, e);
+            searchIndexCache.asMap().remove(userId, index);
+        }
+    }
+
+    private static String playlistSource(String playlistId) {
+        return "p" + playlistId;
+    }
+
+    private static String recommendationSource(String recommendationId) {
+        return "r" + recommendationId;
+    }
+
+    private static final class Build {
+        private final String userId;
+        private final List<ChangeEvent> pending = new ArrayList<>();
+        private boolean overflowed;
+
+        private Build(String userId) {
+            this.userId = userId;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.demo.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// 검색용 문자열 정규화. NFKC + 소문자로 맞춘 뒤 글자/숫자 묶음을 단어로 나눔.
+// 한글 음절과 낱자는 호환 자모로 풀고 (겹모음/겹받침은 입력 순서대로 두 자모로), 받침과 다음 초성을 같은 자모로 봄.
+// 그래서 입력 중인 "사라" 와 "살" 이 모두 "사랑" (ㅅㅏㄹㅏㅇ) 의 앞부분이 됨. 라틴 문자는 악센트를 뗌
+final class SearchText {
+
+    private static final int HANGUL_BASE = 0xAC00;
+    private static final int HANGUL_LAST = 0xD7A3;
+
+    private static final String CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final String[] JUNGSEONG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ",
+            "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ" };
+    private static final String[] JONGSEONG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ",
+            "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ" };
+    // jamo: 풀어 쓴 단어, syllableStarts: jamo 안에서 한글 음절이 시작하는 위치, initials: 음절 초성만 모은 것
+    record Word(String jamo, int[] syllableStarts, String initials) {
+    }
+
+    private SearchText() {
+    }
+
+    static List<Word> words(String text) {
+        List<Word> words = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return words;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder jamo = new StringBuilder();
+        StringBuilder initials = new StringBuilder();
+        int[] starts = new int[8];
+        int syllables = 0;
+        for (int i = 0; i <= normalized.length(); i++) {
+            char c = i < normalized.length() ? normalized.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                if (c >= HANGUL_BASE && c <= HANGUL_LAST) {
+                    if (syllables == starts.length) {
+                        starts = Arrays.copyOf(starts, syllables * 2);
+                    }
+                    starts[syllables++] = jamo.length();
+                    int index = c - HANGUL_BASE;
+                    initials.append(CHOSEONG.charAt(index / 588));
+                    jamo.append(CHOSEONG.charAt(index / 588))
+                            .append(JUNGSEONG[index % 588 / 28])
+                            .append(JONGSEONG[index % 28]);
+                } else {
+                    appendFolded(jamo, c);
+                }
+                continue;
+            }
+            if (!jamo.isEmpty()) {
+                words.add(new Word(jamo.toString(), Arrays.copyOf(starts, syllables), initials.toString()));
+                jamo.setLength(0);
+                initials.setLength(0);
+                syllables = 0;
+            }
+        }
+        return words;
+    }
+
+    // 검색어 단어 (풀어 쓴 형태). 같은 단어는 한 번만
+    static List<String> queryWords(String query) {
+        List<String> words = new ArrayList<>();
+        for (Word word : words(query)) {
+            if (!words.contains(word.jamo())) {
+                words.add(word.jamo());
+            }
+        }
+        return words;
+    }
+
+    // 자음 낱자로만 된 단어 ("ㅅㄹ") 는 초성 검색으로도 찾음
+    static boolean isInitials(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (CHOSEONG.indexOf(word.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 단어들을 공백으로 이어 붙인 풀어 쓴 형태. 색인 길이를 넘는 검색어를 본문과 대조할 때 씀
+    static String fold(String text) {
+        StringBuilder folded = new StringBuilder();
+        for (Word word : words(text)) {
+            folded.append(word.jamo()).append(' ');
+        }
+        return folded.toString();
+    }
+
+    private static void appendFolded(StringBuilder out, char c) {
+        if (c < 0x80) {
+            out.append(c);
+            return;
+        }
+        // NFKC 는 낱자 (호환 자모) 를 조합형 자모로 바꾸므로 음절을 푼 것과 같은 호환 자모로 되돌림 (ㄺ -> ㄹㄱ)
+        if (c >= 0x1100 && c < 0x1100 + CHOSEONG.length()) {
+            out.append(CHOSEONG.charAt(c - 0x1100));
+            return;
+        }
+        if (c >= 0x1161 && c < 0x1161 + JUNGSEONG.length) {
+            out.append(JUNGSEONG[c - 0x1161]);
+            return;
+        }
+        if (c >= 0x11A8 && c < 0x11A7 + JONGSEONG.length) {
+            out.append(JONGSEONG[c - 0x11A7]);
+            return;
+        }
+        String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+        for (int i = 0; i < decomposed.length(); i++) {
+            char part = decomposed.charAt(i);
+            if (Character.getType(part) != Character.NON_SPACING_MARK) {
+                out.append(part);
+            }
+        }
+    }
+}
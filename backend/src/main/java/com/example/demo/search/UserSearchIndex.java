@@ -0,0 +1,329 @@
+package com.example.demo.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.example.demo.common.IdInterner;
+import com.example.demo.common.IntArrayList;
+import com.example.demo.spotify.model.SpotifyTrack;
+
+// 사용자 한 명의 저장 곡 (플레이리스트 곡 + 추천 기록 곡) 역색인. 키 -> 곡 번호 목록 (posting).
+// 제목/아티스트 이름의 각 단어를 SearchText 로 풀어 쓴 뒤 앞부분 (edge n-gram, 최대 MAX_GRAM 자모) 을 키로 씀.
+// 띄어쓰기 없이 붙은 한글 제목도 찾을 수 있게 단어 중간의 음절에서 시작하는 앞부분도 따로 색인하고, 초성 문자열도 색인함.
+// 곡은 출처 (플레이리스트 "p"+id, 추천 "r"+id) 에 한 곡씩 넣고 빼거나 출처 단위로 통째로 바꾸며,
+// 플레이리스트 곡은 playlist_tracks 행 id 로 구분함 (같은 곡이 여러 번 담겨도 정확히 한 건을 뺌).
+// 어느 출처에도 없는 곡은 조회에서만 빼 두었다가 그런 곡이 절반을 넘으면 색인을 다시 만듦. 읽기/쓰기 락으로 보호
+public class UserSearchIndex {
+
+    // 색인할 앞부분의 최대 자모 수. 더 긴 검색어 단어는 후보를 본문과 다시 대조함
+    static final int MAX_GRAM = 12;
+
+    private static final int MIN_COMPACT_DEAD = 256;
+
+    // 키 앞 두 글자: 필드 (t 제목, a 아티스트) + 종류 (w 단어 시작, i 단어 중간 음절, c 초성 단어 시작, d 초성 중간)
+    // 검색 점수: 같은 단어가 여러 키에 걸리면 가장 높은 것 하나만
+    private static final String[] KINDS = { "tw", "tc", "ti", "td", "aw", "ac", "ai", "ad" };
+    private static final int[] WEIGHTS = { 4, 4, 2, 2, 2, 2, 1, 1 };
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // 출처 -> 그 출처의 곡 (같은 곡이 두 번 담겼으면 두 번)
+    private final Map<String, Source> sources = new HashMap<>();
+    private IdInterner tracks = new IdInterner();
+    private List<SpotifyTrack> metadata = new ArrayList<>();
+    private int[] refs = new int[64];
+    private Map<String, IntArrayList> postings = new HashMap<>();
+    private int dead;
+
+    public boolean hasSource(String source) {
+        lock.readLock().lock();
+        try {
+            return sources.containsKey(source);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 곡이 하나라도 있는 출처인지
+    public boolean hasMembers(String source) {
+        lock.readLock().lock();
+        try {
+            Source entry = sources.get(source);
+            return entry != null && !entry.trackIds.isEmpty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean hasRow(String source, int rowId) {
+        lock.readLock().lock();
+        try {
+            Source entry = sources.get(source);
+            return entry != null && entry.rowIds.indexOf(rowId) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 빈 출처 등록 (이미 있으면 그대로)
+    public void addSource(String source) {
+        lock.writeLock().lock();
+        try {
+            sources.computeIfAbsent(source, key -> new Source());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 출처의 곡 목록을 통째로 바꿈 (같은 내용으로 여러 번 불러도 결과가 같음)
+    public void replaceSource(String source, List<SpotifyTrack> members) {
+        lock.writeLock().lock();
+        try {
+            replace(source, members);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 출처가 아직 있을 때만 통째로 바꿈 (그 사이 지워진 출처를 되살리지 않음)
+    public boolean replaceSourceIfPresent(String source, List<SpotifyTrack> members) {
+        lock.writeLock().lock();
+        try {
+            if (!sources.containsKey(source)) {
+                return false;
+            }
+            replace(source, members);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // rowId 는 playlist_tracks.id (없으면 0). 출처가 없으면 만듦
+    public void addTrack(String source, SpotifyTrack track, int rowId) {
+        if (track.getTrackId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Source entry = sources.computeIfAbsent(source, key -> new Source());
+            entry.trackIds.add(track.getTrackId());
+            entry.rowIds.add(rowId);
+            acquire(track);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 출처에서 한 곡 제거. rowId 가 있으면 그 행을, 없으면 처음 나오는 같은 곡을 뺌
+    public boolean removeTrack(String source, String trackId, int rowId) {
+        lock.writeLock().lock();
+        try {
+            Source entry = sources.get(source);
+            if (entry == null) {
+                return false;
+            }
+            int k = rowId > 0 ? entry.rowIds.indexOf(rowId) : entry.trackIds.indexOf(trackId);
+            if (k < 0 || !entry.trackIds.get(k).equals(trackId)) {
+                return false;
+            }
+            entry.trackIds.remove(k);
+            entry.rowIds.removeAt(k);
+            release(trackId);
+            compactIfNeeded();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeSource(String source) {
+        lock.writeLock().lock();
+        try {
+            release(sources.remove(source));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 어느 출처에든 들어 있는 곡 수
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tracks.size() - dead;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 검색어의 모든 단어에 걸리는 곡을 점수 (제목 > 아티스트, 단어 시작 > 중간) 순으로. 점수가 같으면 먼저 색인된 곡 먼저
+    public List<SpotifyTrack> search(String query, int limit) {
+        List<String> words = SearchText.queryWords(query);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int n = tracks.size();
+            int[] matched = new int[n];
+            int[] score = new int[n];
+            boolean verify = false;
+            for (int w = 0; w < words.size(); w++) {
+                String word = words.get(w);
+                String gram = word.length() > MAX_GRAM ? word.substring(0, MAX_GRAM) : word;
+                verify |= word.length() > MAX_GRAM;
+                boolean initials = SearchText.isInitials(word);
+                boolean any = false;
+                for (int k = 0; k < KINDS.length; k++) {
+                    boolean initialsKind = KINDS[k].charAt(1) == 'c' || KINDS[k].charAt(1) == 'd';
+                    if (initialsKind && !initials) {
+                        continue;
+                    }
+                    IntArrayList posting = postings.get(KINDS[k] + gram);
+                    if (posting == null) {
+                        continue;
+                    }
+                    for (int i = 0; i < posting.size(); i++) {
+                        int node = posting.get(i);
+                        if (matched[node] == w) {
+                            matched[node] = w + 1;
+                            score[node] += WEIGHTS[k];
+                            any = true;
+                        }
+                    }
+                }
+                if (!any) {
+                    return List.of();
+                }
+            }
+            long[] hits = new long[n];
+            int count = 0;
+            for (int node = 0; node < n; node++) {
+                if (matched[node] == words.size() && refs[node] > 0 && (!verify || contains(node, words))) {
+                    hits[count++] = ((long) score[node] << 32) | (Integer.MAX_VALUE - node);
+                }
+            }
+            Arrays.sort(hits, 0, count);
+            List<SpotifyTrack> result = new ArrayList<>(Math.min(limit, count));
+            for (int i = count - 1; i >= 0 && result.size() < limit; i--) {
+                result.add(metadata.get(Integer.MAX_VALUE - (int) hits[i]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 색인 길이를 넘는 단어가 제목/아티스트에 실제로 들어 있는지
+    private boolean contains(int node, List<String> words) {
+        SpotifyTrack track = metadata.get(node);
+        String text = SearchText.fold(track.getTitle()) + SearchText.fold(track.getArtistNames());
+        for (String word : words) {
+            if (word.length() > MAX_GRAM && !SearchText.isInitials(word) && !text.contains(word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void acquire(SpotifyTrack track) {
+        int node = tracks.find(track.getTrackId());
+        if (node < 0) {
+            node = tracks.intern(track.getTrackId());
+            metadata.add(track);
+            if (node == refs.length) {
+                refs = Arrays.copyOf(refs, refs.length * 2);
+            }
+            index(node, 't', track.getTitle());
+            index(node, 'a', track.getArtistNames());
+        } else if (refs[node] == 0) {
+            dead--;
+        }
+        refs[node]++;
+    }
+
+    private void replace(String source, List<SpotifyTrack> members) {
+        release(sources.remove(source));
+        Source entry = new Source();
+        for (SpotifyTrack member : members) {
+            if (member.getTrackId() != null) {
+                entry.trackIds.add(member.getTrackId());
+                entry.rowIds.add(0);
+                acquire(member);
+            }
+        }
+        sources.put(source, entry);
+        compactIfNeeded();
+    }
+
+    private void release(Source entry) {
+        if (entry == null) {
+            return;
+        }
+        for (String id : entry.trackIds) {
+            release(id);
+        }
+    }
+
+    private void release(String id) {
+        int node = tracks.find(id);
+        if (node >= 0 && --refs[node] == 0) {
+            dead++;
+        }
+    }
+
+    private void index(int node, char field, String text) {
+        for (SearchText.Word word : SearchText.words(text)) {
+            String jamo = word.jamo();
+            addGrams(node, "" + field + 'w', jamo, 0);
+            for (int start : word.syllableStarts()) {
+                if (start > 0) {
+                    addGrams(node, "" + field + 'i', jamo, start);
+                }
+            }
+            String initials = word.initials();
+            for (int start = 0; start < initials.length(); start++) {
+                addGrams(node, "" + field + (start == 0 ? 'c' : 'd'), initials, start);
+            }
+        }
+    }
+
+    private void addGrams(int node, String kind, String text, int start) {
+        int end = Math.min(text.length(), start + MAX_GRAM);
+        for (int i = start + 1; i <= end; i++) {
+            IntArrayList posting = postings.computeIfAbsent(kind.concat(text.substring(start, i)), key -> new IntArrayList(4));
+            // 한 곡의 키는 한꺼번에 들어가므로 같은 곡이 겹치면 항상 마지막 원소
+            if (posting.isEmpty() || posting.get(posting.size() - 1) != node) {
+                posting.add(node);
+            }
+        }
+    }
+
+    // 빠진 곡이 많으면 남은 출처로 처음부터 다시 색인
+    private void compactIfNeeded() {
+        if (dead < MIN_COMPACT_DEAD || dead * 2 < tracks.size()) {
+            return;
+        }
+        IdInterner oldTracks = tracks;
+        List<SpotifyTrack> oldMetadata = metadata;
+        tracks = new IdInterner();
+        metadata = new ArrayList<>();
+        refs = new int[64];
+        postings = new HashMap<>();
+        dead = 0;
+        for (Source entry : sources.values()) {
+            for (String id : entry.trackIds) {
+                acquire(oldMetadata.get(oldTracks.find(id)));
+            }
+        }
+    }
+
+    private static final class Source {
+        private final List<String> trackIds = new ArrayList<>();
+        private final IntArrayList rowIds = new IntArrayList(4);
+    }
+}
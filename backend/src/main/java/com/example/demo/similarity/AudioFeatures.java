@@ -0,0 +1,43 @@
+package com.example.demo.similarity;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+
+import lombok.Data;
+
+// track_audio_feature 행. Spotify audio-features 응답을 그대로 받을 수 있게 id 도 trackId 로 받음
+@Data
+public class AudioFeatures {
+    @JsonAlias("id")
+    private String trackId;
+    private Float danceability;
+    private Float energy;
+    private Float valence;
+    private Float acousticness;
+    private Float instrumentalness;
+    private Float speechiness;
+    private Float liveness;
+    private Float tempo;
+    private Float loudness;
+
+    // 0~1 로 맞춘 뒤 0.5 를 빼서 가운데를 0 으로 (값이 없으면 0)
+    public float[] toVector() {
+        return new float[] {
+                centered(danceability, 1),
+                centered(energy, 1),
+                centered(valence, 1),
+                centered(acousticness, 1),
+                centered(instrumentalness, 1),
+                centered(speechiness, 1),
+                centered(liveness, 1),
+                centered(tempo, 250),
+                loudness == null ? 0 : centered(loudness + 60, 60),
+        };
+    }
+
+    private static float centered(Float value, float max) {
+        if (value == null) {
+            return 0;
+        }
+        return Math.max(0, Math.min(value / max, 1)) - 0.5f;
+    }
+}
@@ -0,0 +1,310 @@
+package com.example.demo.similarity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+// VectorStore 위의 HNSW (Hierarchical Navigable Small World) 근사 최근접 이웃 그래프.
+// 유사도는 내적이므로 벡터는 미리 정규화돼 있어야 함 (코사인 유사도).
+// build 는 한 스레드에서 끝내고, 만들어진 뒤에는 그래프를 바꾸지 않으므로 search 는 여러 스레드가 동시에 불러도 됨.
+public class HnswIndex {
+
+    public record Neighbor(int node, float score) {
+    }
+
+    private final VectorStore vectors;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final Random random;
+    // links[node][level] 의 앞 linkCounts[node][level] 개가 이웃
+    private final int[][][] links;
+    private final int[][] linkCounts;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    private HnswIndex(VectorStore vectors, int m, int efConstruction, long seed) {
+        this.vectors = vectors;
+        this.m = m;
+        this.maxM0 = m * 2;
+        this.efConstruction = Math.max(efConstruction, m);
+        this.levelMultiplier = 1 / Math.log(m);
+        this.random = new Random(seed);
+        this.links = new int[vectors.size()][][];
+        this.linkCounts = new int[vectors.size()][];
+    }
+
+    // vectors 의 모든 벡터로 그래프 생성. m: 층별 이웃 수 (0층은 2m), efConstruction: 삽입 때 후보 수
+    public static HnswIndex build(VectorStore vectors, int m, int efConstruction, long seed) {
+        HnswIndex index = new HnswIndex(vectors, Math.max(m, 2), efConstruction, seed);
+        BitSet visited = new BitSet(vectors.size());
+        for (int node = 0; node < vectors.size(); node++) {
+            index.insert(node, visited);
+        }
+        return index;
+    }
+
+    public int size() {
+        return links.length;
+    }
+
+    // 유사도 내림차순 상위 k 개. ef 가 클수록 정확하고 느림 (k 보다 작으면 k 사용)
+    public List<Neighbor> search(float[] query, int k, int ef) {
+        if (entryPoint < 0 || k <= 0) {
+            return List.of();
+        }
+        int current = entryPoint;
+        for (int level = maxLevel; level > 0; level--) {
+            current = greedy(query, current, level);
+        }
+        long[] found = searchLayer(query, current, Math.max(ef, k), 0, new BitSet(size()));
+        return toNeighbors(found, k);
+    }
+
+    // 전체 비교. 벤치마크/테스트에서 정답으로 씀
+    public static List<Neighbor> exactSearch(VectorStore vectors, float[] query, int k) {
+        if (k <= 0) {
+            return List.of();
+        }
+        LongHeap best = new LongHeap(k + 1);
+        for (int node = 0; node < vectors.size(); node++) {
+            long key = key(vectors.dot(node, query), node);
+            if (best.size() < k) {
+                best.push(key);
+            } else if (key > best.peek()) {
+                best.pop();
+                best.push(key);
+            }
+        }
+        return toNeighbors(best.drainDescending(), k);
+    }
+
+    private void insert(int node, BitSet visited) {
+        int level = (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+        links[node] = new int[level + 1][];
+        linkCounts[node] = new int[level + 1];
+        for (int l = 0; l <= level; l++) {
+            links[node][l] = new int[l == 0 ? maxM0 : m];
+        }
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+        float[] query = vectors.copy(node);
+        int current = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            current = greedy(query, current, l);
+        }
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            visited.clear();
+            long[] found = searchLayer(query, current, efConstruction, l, visited);
+            for (int neighbor : selectNeighbors(found, l == 0 ? maxM0 : m)) {
+                addLink(node, neighbor, l);
+                addLink(neighbor, node, l);
+            }
+            current = node(found[0]);
+        }
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+    }
+
+    // 위층에서는 더 가까운 이웃이 없을 때까지 한 점씩 이동
+    private int greedy(float[] query, int start, int level) {
+        int current = start;
+        float currentScore = vectors.dot(current, query);
+        boolean moved = true;
+        while (moved) {
+            moved = false;
+            int[] neighbors = links[current][level];
+            int count = linkCounts[current][level];
+            for (int i = 0; i < count; i++) {
+                float score = vectors.dot(neighbors[i], query);
+                if (score > currentScore) {
+                    currentScore = score;
+                    current = neighbors[i];
+                    moved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    // 결과는 유사도 내림차순 key 배열
+    private long[] searchLayer(float[] query, int entry, int ef, int level, BitSet visited) {
+        LongHeap candidates = new LongHeap(ef * 2); // -key 를 넣어 가장 가까운 후보가 위로
+        LongHeap results = new LongHeap(ef + 1);    // 가장 먼 결과가 위로
+        long first = key(vectors.dot(entry, query), entry);
+        visited.set(entry);
+        candidates.push(-first);
+        results.push(first);
+        while (candidates.size() > 0) {
+            long best = -candidates.pop();
+            if (results.size() >= ef && best < results.peek()) {
+                break;
+            }
+            int node = node(best);
+            int[] neighbors = links[node][level];
+            int count = linkCounts[node][level];
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighbors[i];
+                if (visited.get(neighbor)) {
+                    continue;
+                }
+                visited.set(neighbor);
+                long key = key(vectors.dot(neighbor, query), neighbor);
+                if (results.size() < ef || key > results.peek()) {
+                    candidates.push(-key);
+                    results.push(key);
+                    if (results.size() > ef) {
+                        results.pop();
+                    }
+                }
+            }
+        }
+        return results.drainDescending();
+    }
+
+    // 가까운 순으로 보며, 이미 고른 이웃보다 기준점에 더 가까운 후보만 고름 (한쪽으로 몰린 이웃을 피해 그래프가 끊기지 않게 함)
+    private int[] selectNeighbors(long[] candidatesDescending, int max) {
+        int[] selected = new int[max];
+        int count = 0;
+        for (long candidate : candidatesDescending) {
+            if (count == max) {
+                break;
+            }
+            int node = node(candidate);
+            float score = score(candidate);
+            boolean keep = true;
+            for (int i = 0; i < count; i++) {
+                if (vectors.dot(node, selected[i]) > score) {
+                    keep = false;
+                    break;
+                }
+            }
+            if (keep) {
+                selected[count++] = node;
+            }
+        }
+        return Arrays.copyOf(selected, count);
+    }
+
+    private void addLink(int from, int to, int level) {
+        int[] list = links[from][level];
+        int count = linkCounts[from][level];
+        if (count < list.length) {
+            list[count] = to;
+            linkCounts[from][level] = count + 1;
+            return;
+        }
+        // 꽉 찼으면 기존 이웃 + 새 이웃 중에서 다시 고름
+        long[] candidates = new long[count + 1];
+        for (int i = 0; i < count; i++) {
+            candidates[i] = key(vectors.dot(from, list[i]), list[i]);
+        }
+        candidates[count] = key(vectors.dot(from, to), to);
+        Arrays.sort(candidates);
+        for (int i = 0, j = candidates.length - 1; i < j; i++, j--) {
+            long swap = candidates[i];
+            candidates[i] = candidates[j];
+            candidates[j] = swap;
+        }
+        int[] kept = selectNeighbors(candidates, list.length);
+        System.arraycopy(kept, 0, list, 0, kept.length);
+        linkCounts[from][level] = kept.length;
+    }
+
+    private static List<Neighbor> toNeighbors(long[] keysDescending, int k) {
+        int n = Math.min(k, keysDescending.length);
+        List<Neighbor> neighbors = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            neighbors.add(new Neighbor(node(keysDescending[i]), score(keysDescending[i])));
+        }
+        return neighbors;
+    }
+
+    // (유사도, 번호) 를 long 하나로. 유사도 순서가 long 대소 순서와 같도록 float 비트를 정렬 가능한 int 로 바꿈
+    private static long key(float score, int node) {
+        int bits = Float.floatToRawIntBits(score);
+        int sortable = bits ^ ((bits >> 31) & 0x7fffffff);
+        return ((long) sortable << 32) | node;
+    }
+
+    private static int node(long key) {
+        return (int) key;
+    }
+
+    private static float score(long key) {
+        int sortable = (int) (key >> 32);
+        return Float.intBitsToFloat(sortable ^ ((sortable >> 31) & 0x7fffffff));
+    }
+
+    // long 최소 힙
+    private static final class LongHeap {
+        private long[] heap;
+        private int size;
+
+        LongHeap(int capacity) {
+            heap = new long[Math.max(capacity, 4)];
+        }
+
+        int size() {
+            return size;
+        }
+
+        long peek() {
+            return heap[0];
+        }
+
+        void push(long value) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= value) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = value;
+        }
+
+        long pop() {
+            long top = heap[0];
+            long last = heap[--size];
+            int i = 0;
+            while (true) {
+                int child = i * 2 + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (last <= heap[child]) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return top;
+        }
+
+        long[] drainDescending() {
+            long[] values = new long[size];
+            for (int i = values.length - 1; i >= 0; i--) {
+                values[i] = pop();
+            }
+            return values;
+        }
+    }
+}
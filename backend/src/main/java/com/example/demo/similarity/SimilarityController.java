@@ -0,0 +1,62 @@
+package com.example.demo.similarity;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.spotify.model.SpotifyTrack;
+
+@RestController
+@RequestMapping("/api/similarity")
+public class SimilarityController {
+
+    @Autowired
+    private SimilarityService similarityService;
+
+    @Value("${similarity.audio-features.max-batch:1000}")
+    private int maxAudioFeatures;
+
+    // 플레이리스트와 비슷한 곡 (플레이리스트에 이미 있는 곡 제외)
+    @GetMapping("/playlists/{playlistId}")
+    public ResponseEntity<List<SpotifyTrack>> similarToPlaylist(@PathVariable String playlistId,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (!similarityService.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(similarityService.similarToPlaylist(playlistId, limit));
+    }
+
+    // 곡 하나와 비슷한 곡
+    @GetMapping("/tracks/{trackId}")
+    public ResponseEntity<List<SpotifyTrack>> similarToTrack(@PathVariable String trackId,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (!similarityService.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        List<SpotifyTrack> tracks = similarityService.similarToTrack(trackId, limit);
+        if (tracks == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return ResponseEntity.ok(tracks);
+    }
+
+    // Spotify audio-features 응답 배열을 그대로 저장 (다음 인덱스 재구축 때 반영)
+    @PostMapping("/audio-features")
+    public ResponseEntity<String> importAudioFeatures(@RequestBody List<AudioFeatures> features) {
+        if (features.size() > maxAudioFeatures) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("한 번에 최대 " + maxAudioFeatures + "곡까지 저장할 수 있습니다.");
+        }
+        int saved = similarityService.importAudioFeatures(features);
+        return ResponseEntity.ok(saved + "곡의 오디오 특성이 저장되었습니다.");
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.demo.similarity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import com.example.demo.common.CsvUtils;
+import com.example.demo.common.IdInterner;
+import com.example.demo.spotify.model.SpotifyTrack;
+
+// 트랙 특성 벡터 + HNSW 그래프 스냅샷. 만든 뒤에는 바뀌지 않으므로 락 없이 여러 스레드에서 조회함.
+// 벡터 = [해시 특성 hashDims 칸 | 오디오 특성 AUDIO_DIMS 칸] 을 정규화한 것.
+// 해시 특성: 트랙의 아티스트, 트랙이 들어 있는 플레이리스트/추천 결과(같이 담긴 곡끼리 가까워짐), 그 추천의 시드 장르.
+// 문자열 특성은 feature hashing 으로 고정 크기 칸에 부호를 붙여 더함.
+public class SimilarityIndex {
+
+    public static final int AUDIO_DIMS = 9;
+
+    private static final float ARTIST_WEIGHT = 1.0f;
+    private static final float BASKET_WEIGHT = 0.8f;
+    private static final float GENRE_WEIGHT = 0.5f;
+
+    private final IdInterner tracks;
+    private final List<SpotifyTrack> metadata;
+    private final VectorStore vectors;
+    private final HnswIndex graph;
+
+    private SimilarityIndex(IdInterner tracks, List<SpotifyTrack> metadata, VectorStore vectors, HnswIndex graph) {
+        this.tracks = tracks;
+        this.metadata = metadata;
+        this.vectors = vectors;
+        this.graph = graph;
+    }
+
+    public int size() {
+        return tracks.size();
+    }
+
+    public boolean contains(String trackId) {
+        return tracks.find(trackId) >= 0;
+    }
+
+    // 아는 트랙 벡터들의 평균 방향. 하나도 모르면 null
+    public float[] centroid(Collection<String> trackIds) {
+        float[] sum = new float[vectors.dims()];
+        int known = 0;
+        for (String trackId : trackIds) {
+            int node = tracks.find(trackId);
+            if (node < 0) {
+                continue;
+            }
+            for (int i = 0; i < sum.length; i++) {
+                sum[i] += vectors.get(node, i);
+            }
+            known++;
+        }
+        return known == 0 ? null : sum;
+    }
+
+    // query 와 가까운 트랙 limit 개 (exclude 에 든 트랙은 뺌)
+    public List<SpotifyTrack> nearest(float[] query, int limit, Set<String> exclude, int ef) {
+        List<SpotifyTrack> result = new ArrayList<>(limit);
+        for (HnswIndex.Neighbor neighbor : graph.search(query, limit + exclude.size(), ef + exclude.size())) {
+            if (result.size() == limit) {
+                break;
+            }
+            if (!exclude.contains(tracks.value(neighbor.node()))) {
+                result.add(metadata.get(neighbor.node()));
+            }
+        }
+        return result;
+    }
+
+    public static Builder builder(int hashDims) {
+        return new Builder(hashDims);
+    }
+
+    // 스캔하면서 특성을 누적하고 build 에서 정규화 + 그래프 생성. 스레드 안전하지 않음
+    public static class Builder {
+
+        private final int hashDims;
+        private final IdInterner tracks = new IdInterner();
+        private final List<SpotifyTrack> metadata = new ArrayList<>();
+        private final VectorStore vectors;
+
+        private Builder(int hashDims) {
+            this.hashDims = hashDims;
+            this.vectors = new VectorStore(hashDims + AUDIO_DIMS, 1024);
+        }
+
+        // 같이 담긴 트랙 묶음 (플레이리스트 하나, 추천 결과 하나). 큰 묶음일수록 곡당 가중치를 줄임
+        public void basket(String basketKey, List<SpotifyTrack> members, List<String> genres) {
+            if (members.isEmpty()) {
+                return;
+            }
+            float basketWeight = (float) (BASKET_WEIGHT / Math.sqrt(members.size()));
+            for (SpotifyTrack track : members) {
+                int node = track(track);
+                addFeature(node, "b:" + basketKey, basketWeight);
+                for (String genre : genres) {
+                    addFeature(node, "g:" + genre, GENRE_WEIGHT);
+                }
+            }
+        }
+
+        // 처음 본 트랙이면 벡터를 만들고 아티스트 특성을 넣음
+        private int track(SpotifyTrack track) {
+            int node = tracks.find(track.getTrackId());
+            if (node >= 0) {
+                return node;
+            }
+            node = tracks.intern(track.getTrackId());
+            vectors.append();
+            metadata.add(track);
+            for (String artistId : CsvUtils.split(track.getArtistIds())) {
+                addFeature(node, "a:" + artistId, ARTIST_WEIGHT);
+            }
+            return node;
+        }
+
+        // 인덱스에 없는 트랙의 오디오 특성은 무시
+        public void audio(AudioFeatures features) {
+            int node = tracks.find(features.getTrackId());
+            if (node < 0) {
+                return;
+            }
+            float[] values = features.toVector();
+            for (int i = 0; i < AUDIO_DIMS; i++) {
+                vectors.set(node, hashDims + i, values[i]);
+            }
+        }
+
+        // audioWeight: 오디오 칸 길이 (해시 칸 길이는 1). 둘을 합친 뒤 다시 길이 1 로 맞춤
+        public SimilarityIndex build(float audioWeight, int m, int efConstruction) {
+            int dims = hashDims + AUDIO_DIMS;
+            for (int node = 0; node < vectors.size(); node++) {
+                vectors.scale(node, 0, hashDims, 1f);
+                vectors.scale(node, hashDims, dims, audioWeight);
+                vectors.scale(node, 0, dims, 1f);
+            }
+            HnswIndex graph = HnswIndex.build(vectors, m, efConstruction, 42);
+            return new SimilarityIndex(tracks, metadata, vectors, graph);
+        }
+
+        public int size() {
+            return tracks.size();
+        }
+
+        private void addFeature(int node, String feature, float weight) {
+            int hash = mix(feature.hashCode());
+            vectors.add(node, (hash >>> 1) % hashDims, (hash & 1) == 0 ? weight : -weight);
+        }
+
+        // String.hashCode 는 비슷한 문자열끼리 하위 비트가 몰리므로 한 번 섞음 (murmur3 fmix32)
+        private static int mix(int h) {
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            h *= 0xc2b2ae35;
+            h ^= h >>> 16;
+            return h;
+        }
+    }
+}
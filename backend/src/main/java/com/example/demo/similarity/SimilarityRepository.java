@@ -0,0 +1,14 @@
+package com.example.demo.similarity;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.cursor.Cursor;
+
+@Mapper
+public interface SimilarityRepository {
+
+    Cursor<AudioFeatures> scanAudioFeatures();
+
+    int upsertAudioFeatures(List<AudioFeatures> features);
+}
@@ -0,0 +1,236 @@
+package com.example.demo.similarity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.change.ChangeEvent;
+import com.example.demo.change.ChangeListener;
+import com.example.demo.common.CsvUtils;
+import com.example.demo.playlist.PlaylistRepository;
+import com.example.demo.playlist.PlaylistService;
+import com.example.demo.playlist.PlaylistTrack;
+import com.example.demo.recommendation.Recommendation;
+import com.example.demo.recommendation.RecommendationEngine;
+import com.example.demo.recommendation.RecommendationRepository;
+import com.example.demo.spotify.model.SpotifyTrack;
+
+import lombok.extern.slf4j.Slf4j;
+
+// "이 플레이리스트/곡과 비슷한 곡" 조회. SimilarityIndex 스냅샷을 통째로 새로 만들어 바꿔 끼움.
+// HNSW 는 삭제/갱신이 어려워 이벤트를 하나씩 반영하지 않고, 변경 피드로 바뀐 게 있다는 표시만 해 두었다가
+// rebuild-interval 마다 다시 만듦 (그 사이 결과는 조금 늦을 수 있음).
+@Slf4j
+@Service
+public class SimilarityService implements ChangeListener {
+
+    private static final int UPSERT_CHUNK = 500;
+
+    @Autowired
+    private PlaylistRepository playlistRepository;
+
+    @Autowired
+    private RecommendationRepository recommendationRepository;
+
+    @Autowired
+    private SimilarityRepository similarityRepository;
+
+    @Autowired
+    private PlaylistService playlistService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // 해시 특성 칸 수 (벡터 차원 = hash-dims + 오디오 특성 9)
+    @Value("${similarity.hash-dims:64}")
+    private int hashDims;
+
+    // 오디오 특성 칸 비중 (해시 특성 칸은 1)
+    @Value("${similarity.audio-weight:0.5}")
+    private float audioWeight;
+
+    @Value("${similarity.hnsw.m:16}")
+    private int m;
+
+    @Value("${similarity.hnsw.ef-construction:100}")
+    private int efConstruction;
+
+    @Value("${similarity.hnsw.ef-search:64}")
+    private int efSearch;
+
+    @Value("${similarity.max-limit:100}")
+    private int maxLimit;
+
+    private volatile SimilarityIndex index;
+    private final AtomicBoolean loading = new AtomicBoolean();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    public boolean isReady() {
+        return index != null;
+    }
+
+    // 플레이리스트 곡들의 평균 벡터와 가까운 곡 (이미 들어 있는 곡 제외)
+    public List<SpotifyTrack> similarToPlaylist(String playlistId, int limit) {
+        SimilarityIndex current = index;
+        if (current == null) {
+            return List.of();
+        }
+        Set<String> trackIds = new HashSet<>();
+        for (PlaylistTrack track : playlistService.getPlaylistTracksById(playlistId)) {
+            trackIds.add(track.getTrackId());
+        }
+        float[] query = current.centroid(trackIds);
+        if (query == null) {
+            return List.of();
+        }
+        return current.nearest(query, clamp(limit), trackIds, efSearch);
+    }
+
+    // 인덱스에 없는 곡이면 null
+    public List<SpotifyTrack> similarToTrack(String trackId, int limit) {
+        SimilarityIndex current = index;
+        if (current == null || !current.contains(trackId)) {
+            return null;
+        }
+        return current.nearest(current.centroid(List.of(trackId)), clamp(limit), Set.of(trackId), efSearch);
+    }
+
+    // trackId 없는 항목은 건너뜀. 다음 재구축 때 반영
+    public int importAudioFeatures(List<AudioFeatures> features) {
+        List<AudioFeatures> valid = features.stream()
+                .filter(f -> f.getTrackId() != null && !f.getTrackId().isEmpty())
+                .toList();
+        for (int from = 0; from < valid.size(); from += UPSERT_CHUNK) {
+            similarityRepository.upsertAudioFeatures(valid.subList(from, Math.min(from + UPSERT_CHUNK, valid.size())));
+        }
+        if (!valid.isEmpty()) {
+            dirty.set(true);
+        }
+        return valid.size();
+    }
+
+    private int clamp(int limit) {
+        return Math.max(1, Math.min(limit, maxLimit));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reloadAsync();
+    }
+
+    @Override
+    public void onChanges(List<ChangeEvent> batch) {
+        dirty.set(true);
+    }
+
+    @Override
+    public void onOverflow() {
+        dirty.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${similarity.rebuild-interval-ms:600000}")
+    public void rebuildIfChanged() {
+        if (dirty.get()) {
+            reloadAsync();
+        }
+    }
+
+    private void reloadAsync() {
+        if (!loading.compareAndSet(false, true)) {
+            return;
+        }
+        // 로드 중에 들어온 변경은 dirty 로 남아 다음 주기에 다시 만듦
+        dirty.set(false);
+        Thread.ofPlatform().name("similarity-index-loader").daemon(true).start(() -> {
+            try {
+                long started = System.currentTimeMillis();
+                SimilarityIndex.Builder builder = scan();
+                long scanned = System.currentTimeMillis();
+                index = builder.build(audioWeight, m, efConstruction);
+                log.info("similarity index loaded: tracks={}, scan={}ms, build={}ms",
+                        builder.size(), scanned - started, System.currentTimeMillis() - scanned);
+            } catch (RuntimeException e) {
+                log.error("similarity index load failed", e);
+                dirty.set(true);
+            } finally {
+                loading.set(false);
+            }
+        });
+    }
+
+    // MyBatis Cursor 는 커넥션이 열려 있어야 하므로 트랜잭션 안에서 스트리밍. 그래프 생성은 트랜잭션 밖에서.
+    // 변경 피드와 맞춰야 하므로 replica 가 아닌 primary 에서 읽음 (readOnly 를 붙이지 않음)
+    private SimilarityIndex.Builder scan() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        return transaction.execute(status -> {
+            SimilarityIndex.Builder builder = SimilarityIndex.builder(hashDims);
+            Map<String, List<String>> seedGenres = new HashMap<>();
+            try (Cursor<Recommendation> seeds = recommendationRepository.scanRecommendationSeeds()) {
+                for (Recommendation seed : seeds) {
+                    List<String> genres = CsvUtils.split(seed.getArtistGenres()).stream()
+                            .map(genre -> genre.toLowerCase(Locale.ROOT))
+                            .toList();
+                    if (!genres.isEmpty()) {
+                        seedGenres.put(seed.getRecommendationId(), genres);
+                    }
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException("failed to scan recommendation seeds", e);
+            }
+            // 두 스캔 모두 바구니 순으로 정렬돼 있어 같은 바구니 행이 연달아 옴
+            try (Cursor<SpotifyTrack> tracks = recommendationRepository.scanRecommendationTracks()) {
+                String basket = null;
+                List<SpotifyTrack> members = new ArrayList<>();
+                for (SpotifyTrack track : tracks) {
+                    if (!track.getRecommendationId().equals(basket)) {
+                        builder.basket("r" + basket, members, seedGenres.getOrDefault(basket, List.of()));
+                        basket = track.getRecommendationId();
+                        members = new ArrayList<>();
+                    }
+                    members.add(track);
+                }
+                builder.basket("r" + basket, members, seedGenres.getOrDefault(basket, List.of()));
+            } catch (Exception e) {
+                throw new IllegalStateException("failed to scan recommendation tracks", e);
+            }
+            try (Cursor<PlaylistTrack> tracks = playlistRepository.scanPlaylistTracks()) {
+                int basket = -1;
+                List<SpotifyTrack> members = new ArrayList<>();
+                for (PlaylistTrack track : tracks) {
+                    if (track.getPlaylistId() != basket) {
+                        builder.basket("p" + basket, members, List.of());
+                        basket = track.getPlaylistId();
+                        members = new ArrayList<>();
+                    }
+                    members.add(RecommendationEngine.toSpotifyTrack(track));
+                }
+                builder.basket("p" + basket, members, List.of());
+            } catch (Exception e) {
+                throw new IllegalStateException("failed to scan playlist tracks", e);
+            }
+            try (Cursor<AudioFeatures> features = similarityRepository.scanAudioFeatures()) {
+                for (AudioFeatures feature : features) {
+                    builder.audio(feature);
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException("failed to scan audio features", e);
+            }
+            return builder;
+        });
+    }
+}
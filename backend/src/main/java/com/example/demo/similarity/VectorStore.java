@@ -0,0 +1,97 @@
+package com.example.demo.similarity;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+// 같은 차원의 float 벡터를 힙 밖(direct buffer)에 연속으로 저장. 트랙 수십만 개여도 GC 가 훑을 객체가 늘지 않음.
+// 벡터 번호는 0부터 append 순서. 스레드 안전하지 않음 (다 채운 뒤에는 읽기만 하면 여러 스레드에서 써도 됨)
+public class VectorStore {
+
+    private final int dims;
+    private FloatBuffer data;
+    private int size;
+
+    public VectorStore(int dims, int initialCapacity) {
+        this.dims = dims;
+        this.data = allocate(Math.max(initialCapacity, 16) * dims);
+    }
+
+    public int dims() {
+        return dims;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // 0 벡터를 하나 추가하고 번호를 돌려줌
+    public int append() {
+        if ((size + 1) * dims > data.capacity()) {
+            FloatBuffer bigger = allocate(data.capacity() * 2);
+            bigger.put(0, data, 0, size * dims);
+            data = bigger;
+        }
+        return size++;
+    }
+
+    public float get(int node, int dim) {
+        return data.get(node * dims + dim);
+    }
+
+    public void set(int node, int dim, float value) {
+        data.put(node * dims + dim, value);
+    }
+
+    public void add(int node, int dim, float value) {
+        int offset = node * dims + dim;
+        data.put(offset, data.get(offset) + value);
+    }
+
+    // [from, to) 구간의 길이를 length 로 맞춤. 0 구간이면 그대로 두고 false
+    public boolean scale(int node, int from, int to, float length) {
+        int base = node * dims;
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            float value = data.get(base + i);
+            sum += value * value;
+        }
+        if (sum == 0) {
+            return false;
+        }
+        float factor = (float) (length / Math.sqrt(sum));
+        for (int i = from; i < to; i++) {
+            data.put(base + i, data.get(base + i) * factor);
+        }
+        return true;
+    }
+
+    public float dot(int a, int b) {
+        int baseA = a * dims;
+        int baseB = b * dims;
+        float sum = 0;
+        for (int i = 0; i < dims; i++) {
+            sum += data.get(baseA + i) * data.get(baseB + i);
+        }
+        return sum;
+    }
+
+    public float dot(int node, float[] query) {
+        int base = node * dims;
+        float sum = 0;
+        for (int i = 0; i < dims; i++) {
+            sum += data.get(base + i) * query[i];
+        }
+        return sum;
+    }
+
+    public float[] copy(int node) {
+        float[] vector = new float[dims];
+        data.get(node * dims, vector);
+        return vector;
+    }
+
+    private static FloatBuffer allocate(int floats) {
+        return ByteBuffer.allocateDirect(floats * Float.BYTES).order(ByteOrder.nativeOrder()).asFloatBuffer();
+    }
+}
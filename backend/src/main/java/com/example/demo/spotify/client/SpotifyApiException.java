@@ -0,0 +1,22 @@
+package com.example.demo.spotify.client;
+
+// Spotify 가 재시도 후에도 2xx 가 아닌 응답을 준 경우
+public class SpotifyApiException extends RuntimeException {
+
+    private final int statusCode;
+    private final String responseBody;
+
+    public SpotifyApiException(int statusCode, String responseBody) {
+        super("Spotify API responded " + statusCode);
+        this.statusCode = statusCode;
+        this.responseBody = responseBody;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+}
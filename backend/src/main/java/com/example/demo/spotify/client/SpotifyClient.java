@@ -0,0 +1,226 @@
+package com.example.demo.spotify.client;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+// Spotify accounts / Web API 호출 전용 클라이언트.
+// HttpClient 하나를 공유해 커넥션을 재사용(HTTP/2 우선)하고, 호출은 가상 스레드에서 돌려 Tomcat 스레드를 잡지 않음.
+// 모든 호출은 TokenBucket 을 거치며 429 는 Retry-After 만큼 전체를 멈춘 뒤 재시도함.
+// 시도마다 spotify.client.requests (endpoint, status) 타이머, 재시도는 spotify.client.retries 카운터로 남김
+@Slf4j
+public class SpotifyClient implements AutoCloseable {
+
+    public record Settings(
+            String clientId,
+            String clientSecret,
+            String redirectUri,
+            String accountsBaseUrl,
+            String apiBaseUrl,
+            Duration connectTimeout,
+            Duration requestTimeout,
+            double permitsPerSecond,
+            int burst,
+            int maxRetries,
+            Duration initialBackoff,
+            Duration maxRetryAfter) {
+    }
+
+    private static final TypeReference<Map<String, Object>> JSON_MAP = new TypeReference<>() {
+    };
+
+    private final Settings settings;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final TokenBucket rateLimiter;
+    private final MeterRegistry meterRegistry;
+
+    public SpotifyClient(Settings settings, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.settings = settings;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("spotify-", 0).factory());
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(settings.connectTimeout())
+                .executor(executor)
+                .build();
+        this.rateLimiter = new TokenBucket(settings.permitsPerSecond(), settings.burst());
+    }
+
+    // 로그인 페이지 주소 (1번 단계)
+    public String authorizeUrl(String scope, String state) {
+        return settings.accountsBaseUrl() + "/authorize?client_id=" + settings.clientId()
+                + "&response_type=code"
+                + "&redirect_uri=" + settings.redirectUri()
+                + "&scope=" + URLEncoder.encode(scope, StandardCharsets.UTF_8)
+                + "&state=" + state;
+    }
+
+    // 권한 부여 코드 -> 토큰. 코드는 한 번만 쓸 수 있으므로 429 외에는 재시도하지 않음
+    public CompletableFuture<Map<String, Object>> exchangeCode(String code) {
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("grant_type", "authorization_code");
+        form.put("code", code);
+        form.put("redirect_uri", settings.redirectUri());
+        return sendAsync("token", tokenRequest(form), false);
+    }
+
+    public CompletableFuture<Map<String, Object>> refreshToken(String refreshToken) {
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("grant_type", "refresh_token");
+        form.put("refresh_token", refreshToken);
+        return sendAsync("token", tokenRequest(form), true);
+    }
+
+    // /v1/me
+    public CompletableFuture<Map<String, Object>> getCurrentUser(String accessToken) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(settings.apiBaseUrl() + "/v1/me"))
+                .timeout(settings.requestTimeout())
+                .header("Authorization", "Bearer " + accessToken)
+                .GET()
+                .build();
+        return sendAsync("me", request, true);
+    }
+
+    private HttpRequest tokenRequest(Map<String, String> form) {
+        String body = form.entrySet().stream()
+                .map(e -> URLEncoder.encode(e.getKey(), StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(e.getValue() == null ? "" : e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+        String basic = Base64.getEncoder().encodeToString(
+                (settings.clientId() + ":" + settings.clientSecret()).getBytes(StandardCharsets.UTF_8));
+        return HttpRequest.newBuilder(URI.create(settings.accountsBaseUrl() + "/api/token"))
+                .timeout(settings.requestTimeout())
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .header("Authorization", "Basic " + basic)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private CompletableFuture<Map<String, Object>> sendAsync(String endpoint, HttpRequest request, boolean retryOnServerError) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return send(endpoint, request, retryOnServerError);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    // 가상 스레드 위에서 블로킹 send. 429 는 항상, 5xx / 네트워크 오류는 retryOnServerError 일 때만 재시도
+    private Map<String, Object> send(String endpoint, HttpRequest request, boolean retryOnServerError) throws IOException, InterruptedException {
+        long backoffMillis = settings.initialBackoff().toMillis();
+        for (int attempt = 0; ; attempt++) {
+            boolean lastAttempt = attempt >= settings.maxRetries();
+            rateLimiter.acquire();
+            HttpResponse<String> response;
+            long started = System.nanoTime();
+            try {
+                response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                recordAttempt(endpoint, String.valueOf(response.statusCode()), started);
+            } catch (IOException e) {
+                recordAttempt(endpoint, "IO_ERROR", started);
+                if (!retryOnServerError || lastAttempt) {
+                    throw e;
+                }
+                log.warn("Spotify 호출 실패, 재시도 {}/{}: {} {}", attempt + 1, settings.maxRetries(), request.uri(), e.toString());
+                countRetry(endpoint, "io_error");
+                sleepWithJitter(backoffMillis);
+                backoffMillis *= 2;
+                continue;
+            }
+
+            int status = response.statusCode();
+            if (status >= 200 && status < 300) {
+                String body = response.body();
+                return body == null || body.isEmpty() ? Map.of() : objectMapper.readValue(body, JSON_MAP);
+            }
+            if (status == 429 && !lastAttempt) {
+                long retryAfterMillis = retryAfterMillis(response, backoffMillis);
+                log.warn("Spotify 429, {}ms 후 재시도: {}", retryAfterMillis, request.uri());
+                rateLimiter.pauseFor(retryAfterMillis);
+                countRetry(endpoint, "rate_limited");
+                backoffMillis *= 2;
+                continue;
+            }
+            if (status >= 500 && retryOnServerError && !lastAttempt) {
+                log.warn("Spotify {}, 재시도 {}/{}: {}", status, attempt + 1, settings.maxRetries(), request.uri());
+                countRetry(endpoint, "server_error");
+                sleepWithJitter(backoffMillis);
+                backoffMillis *= 2;
+                continue;
+            }
+            throw new SpotifyApiException(status, response.body());
+        }
+    }
+
+    private void recordAttempt(String endpoint, String status, long startedNanos) {
+        Timer.builder("spotify.client.requests")
+                .description("Outbound Spotify API call time per attempt")
+                .tag("endpoint", endpoint)
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void countRetry(String endpoint, String reason) {
+        Counter.builder("spotify.client.retries")
+                .tag("endpoint", endpoint)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    // Retry-After 는 초 단위. 없거나 잘못된 값이면 지수 백오프 값 사용
+    private long retryAfterMillis(HttpResponse<?> response, long fallbackMillis) {
+        long millis = response.headers().firstValue("Retry-After")
+                .map(value -> {
+                    try {
+                        return Long.parseLong(value.trim()) * 1000;
+                    } catch (NumberFormatException e) {
+                        return fallbackMillis;
+                    }
+                })
+                .orElse(fallbackMillis);
+        return Math.min(Math.max(millis, 0), settings.maxRetryAfter().toMillis());
+    }
+
+    private static void sleepWithJitter(long millis) throws InterruptedException {
+        Thread.sleep(millis / 2 + ThreadLocalRandom.current().nextLong(millis / 2 + 1));
+    }
+
+    @Override
+    public void close() {
+        httpClient.close();
+        executor.close();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.demo.spotify.client;
+
+// Spotify 호출 속도 제한. 초당 permitsPerSecond 개씩 채워지고 최대 burst 개까지 쌓임.
+// 429 Retry-After 를 받으면 pauseUntil 로 그 시각까지 모든 호출을 멈춤.
+// acquire 는 대기 시간만큼 잠드므로 가상 스레드에서 부르는 것을 전제로 함
+public class TokenBucket {
+
+    private final double permitsPerNano;
+    private final double burst;
+
+    private double available;
+    private long lastRefillNanos;
+    private long pausedUntilNanos;
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond and burst must be positive");
+        }
+        this.permitsPerNano = permitsPerSecond / 1_000_000_000d;
+        this.burst = burst;
+        this.available = burst;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    public void acquire() throws InterruptedException {
+        while (true) {
+            long waitNanos = tryReserve();
+            if (waitNanos <= 0) {
+                return;
+            }
+            Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+        }
+    }
+
+    // 0 이하면 토큰 하나 가져감, 아니면 다시 시도하기까지 기다릴 시간(ns)
+    private synchronized long tryReserve() {
+        long now = System.nanoTime();
+        if (now - pausedUntilNanos < 0) {
+            return pausedUntilNanos - now;
+        }
+        refill(now);
+        if (available >= 1) {
+            available -= 1;
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil((1 - available) / permitsPerNano));
+    }
+
+    private void refill(long now) {
+        long elapsed = now - lastRefillNanos;
+        if (elapsed > 0) {
+            available = Math.min(burst, available + elapsed * permitsPerNano);
+            lastRefillNanos = now;
+        }
+    }
+
+    // Retry-After 동안 쌓인 토큰으로 한꺼번에 몰리지 않도록 재개 시점의 토큰은 비움
+    public synchronized void pauseFor(long millis) {
+        long until = System.nanoTime() + millis * 1_000_000;
+        if (until - pausedUntilNanos > 0) {
+            pausedUntilNanos = until;
+            available = 0;
+            lastRefillNanos = until;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.demo.spotify.token;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.spotify.client.SpotifyClient;
+import com.example.demo.spotify.model.User;
+import com.example.demo.spotify.repository.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+// spotifyId 별 액세스 토큰 보관소.
+// 유효한 토큰이 있으면 Spotify 를 부르지 않고 돌려주고, 같은 사용자의 동시 갱신은 한 번의 호출로 합침.
+// 최근에 쓰인 토큰은 만료 전에 스케줄러가 미리 갱신해 요청 경로에서 토큰 엔드포인트를 기다리지 않게 함.
+// 보관된 토큰과 진행 중인 갱신 결과는 refresh token 이 일치하는 요청에만 내줌. 미리 갱신하면서 refresh token 이
+// 바뀌면 클라이언트가 아직 들고 있는 직전 값도 받아 주고, 응답에 새 refresh_token 을 담아 바꾸게 함.
+@Slf4j
+@Service
+public class SpotifyTokenStore {
+
+    private static final class StoredToken {
+        final String accessToken;
+        final String refreshToken;
+        final String scope;
+        final String tokenType;
+        final Instant expiresAt;
+        // 이 토큰을 받을 때 쓴 refresh token 이 바뀌었으면 그 직전 값
+        volatile String previousRefreshToken;
+        volatile Instant lastUsed;
+
+        StoredToken(String accessToken, String refreshToken, String scope, String tokenType, Instant expiresAt) {
+            this.accessToken = accessToken;
+            this.refreshToken = refreshToken;
+            this.scope = scope;
+            this.tokenType = tokenType;
+            this.expiresAt = expiresAt;
+            this.lastUsed = Instant.now();
+        }
+
+        boolean matches(String refreshToken) {
+            return refreshToken.equals(this.refreshToken) || refreshToken.equals(previousRefreshToken);
+        }
+    }
+
+    private final Map<String, StoredToken> tokens = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Map<String, Object>>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    private SpotifyClient spotifyClient;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // 만료 이만큼 전부터는 만료된 것으로 봄
+    @Value("${spotify.token.expiry-skew:60s}")
+    private Duration expirySkew;
+
+    // 만료 이만큼 전에 스케줄러가 미리 갱신
+    @Value("${spotify.token.refresh-ahead:5m}")
+    private Duration refreshAhead;
+
+    // 이 시간 동안 요청이 없던 사용자는 미리 갱신하지 않고 메모리에서 뺌
+    @Value("${spotify.token.idle-timeout:12h}")
+    private Duration idleTimeout;
+
+    // 로그인 직후 받은 토큰 보관
+    public void store(String spotifyId, Map<String, Object> tokenResponse) {
+        StoredToken token = fromResponse(tokenResponse, null);
+        if (spotifyId != null && token != null) {
+            tokens.put(spotifyId, token);
+        }
+    }
+
+    // 유효한 액세스 토큰을 Spotify 토큰 응답과 같은 모양(access_token, refresh_token, expires_in ...)으로 돌려줌.
+    // 보관된 토큰은 요청한 refresh token 이 일치할 때만 내줌
+    public CompletableFuture<Map<String, Object>> getAccessToken(String spotifyId, String refreshToken) {
+        if (spotifyId == null) {
+            return refresh(null, refreshToken);
+        }
+        StoredToken token = tokens.get(spotifyId);
+        if (token == null) {
+            token = loadFromDatabase(spotifyId);
+        }
+        if (token == null || token.refreshToken == null) {
+            return refresh(spotifyId, refreshToken);
+        }
+        if (!token.matches(refreshToken)) {
+            // 보관된 것과 다른 refresh token: Spotify 에 그대로 물어보고 결과는 이 사용자 토큰으로 저장하지 않음
+            return refresh(null, refreshToken);
+        }
+        token.lastUsed = Instant.now();
+        if (Instant.now().plus(expirySkew).isBefore(token.expiresAt)) {
+            return CompletableFuture.completedFuture(toResponse(token));
+        }
+        // 직전 값으로 왔어도 이미 바뀌었을 수 있으므로 보관된 최신 refresh token 으로 갱신
+        return refresh(spotifyId, token.refreshToken);
+    }
+
+    // 같은 (spotifyId, refresh token) 으로 진행 중인 갱신이 있으면 그 결과를 같이 기다림.
+    // spotifyId 가 null 이면 저장하지 않고 Spotify 응답을 그대로 돌려줌
+    private CompletableFuture<Map<String, Object>> refresh(String spotifyId, String refreshToken) {
+        String key = (spotifyId == null ? "" : spotifyId) + "\n" + refreshToken;
+        CompletableFuture<Map<String, Object>> promise = new CompletableFuture<>();
+        CompletableFuture<Map<String, Object>> running = inFlight.putIfAbsent(key, promise);
+        if (running != null) {
+            return running;
+        }
+        spotifyClient.refreshToken(refreshToken).whenComplete((response, error) -> {
+            Map<String, Object> result = response;
+            try {
+                if (error == null && spotifyId != null) {
+                    StoredToken saved = save(spotifyId, response, refreshToken);
+                    if (saved != null) {
+                        result = toResponse(saved);
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("토큰 저장 실패: {}", spotifyId, e);
+            } finally {
+                inFlight.remove(key, promise);
+            }
+            if (error != null) {
+                promise.completeExceptionally(error);
+            } else {
+                promise.complete(result);
+            }
+        });
+        return promise;
+    }
+
+    private StoredToken save(String spotifyId, Map<String, Object> response, String usedRefreshToken) {
+        StoredToken token = fromResponse(response, usedRefreshToken);
+        if (token == null) {
+            return null;
+        }
+        StoredToken previous = tokens.get(spotifyId);
+        if (!usedRefreshToken.equals(token.refreshToken)) {
+            token.previousRefreshToken = usedRefreshToken;
+        } else if (previous != null) {
+            token.previousRefreshToken = previous.previousRefreshToken;
+        }
+        tokens.put(spotifyId, token);
+        if (previous != null) {
+            token.lastUsed = previous.lastUsed;
+        }
+        User user = new User();
+        user.setSpotifyId(spotifyId);
+        user.setAccessToken(token.accessToken);
+        user.setRefreshToken(token.refreshToken);
+        user.setExpiresIn((int) Duration.between(Instant.now(), token.expiresAt).toSeconds());
+        userRepository.updateToken(user);
+        return token;
+    }
+
+    // 재시작 직후처럼 메모리에 없으면 DB 의 updated_at + expires_in 으로 만료 시각 복원
+    private StoredToken loadFromDatabase(String spotifyId) {
+        Optional<User> found = userRepository.findBySpotifyId(spotifyId);
+        if (found.isEmpty()) {
+            return null;
+        }
+        User user = found.get();
+        if (user.getAccessToken() == null || user.getExpiresIn() == null || user.getUpdatedAt() == null) {
+            return null;
+        }
+        Instant expiresAt = user.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().plusSeconds(user.getExpiresIn());
+        StoredToken token = new StoredToken(user.getAccessToken(), user.getRefreshToken(), user.getScope(), user.getTokenType(), expiresAt);
+        StoredToken existing = tokens.putIfAbsent(spotifyId, token);
+        return existing != null ? existing : token;
+    }
+
+    @Scheduled(fixedDelayString = "${spotify.token.refresh-check-interval-ms:60000}")
+    public void refreshExpiring() {
+        Instant now = Instant.now();
+        tokens.forEach((spotifyId, token) -> {
+            if (token.lastUsed.plus(idleTimeout).isBefore(now)) {
+                tokens.remove(spotifyId, token);
+            } else if (token.refreshToken != null && token.expiresAt.minus(refreshAhead).isBefore(now)) {
+                refresh(spotifyId, token.refreshToken).exceptionally(e -> {
+                    log.warn("토큰 선갱신 실패: {} ({})", spotifyId, e.toString());
+                    return null;
+                });
+            }
+        });
+    }
+
+    // Spotify 는 refresh 응답에 refresh_token 을 빼기도 하므로 그때는 쓰던 값을 유지
+    private static StoredToken fromResponse(Map<String, Object> response, String usedRefreshToken) {
+        Object accessToken = response.get("access_token");
+        Object expiresIn = response.get("expires_in");
+        if (accessToken == null || !(expiresIn instanceof Number)) {
+            return null;
+        }
+        Object refreshToken = response.get("refresh_token");
+        return new StoredToken(
+                (String) accessToken,
+                refreshToken != null ? (String) refreshToken : usedRefreshToken,
+                (String) response.get("scope"),
+                (String) response.get("token_type"),
+                Instant.now().plusSeconds(((Number) expiresIn).longValue()));
+    }
+
+    private static Map<String, Object> toResponse(StoredToken token) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("access_token", token.accessToken);
+        response.put("refresh_token", token.refreshToken);
+        response.put("token_type", token.tokenType);
+        response.put("scope", token.scope);
+        response.put("expires_in", Math.max(0, Duration.between(Instant.now(), token.expiresAt).toSeconds()));
+        return response;
+    }
+}
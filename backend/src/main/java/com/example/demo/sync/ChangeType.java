@@ -0,0 +1,19 @@
+package com.example.demo.sync;
+
+// user_change_log.change_type
+public enum ChangeType {
+    // entity_id: 플레이리스트 id. 생성/이름 변경
+    PLAYLIST_UPSERTED,
+    PLAYLIST_DELETED,
+    // 곡 순서가 바뀜. 클라이언트는 그 플레이리스트 곡 목록을 다시 받음
+    PLAYLIST_REORDERED,
+    // entity_id: playlist_tracks 행 id, parent_id: 플레이리스트 id
+    TRACK_ADDED,
+    TRACK_REMOVED,
+    // entity_id: 추천 id
+    HISTORY_CREATED,
+    HISTORY_DELETED,
+    // entity_id: track_id
+    LIKE_ADDED,
+    LIKE_REMOVED
+}
@@ -0,0 +1,28 @@
+package com.example.demo.sync;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    @Autowired
+    private SyncService syncService;
+
+    // since 는 이전 응답의 token (처음이면 생략 -> 스냅샷)
+    @GetMapping("/{userId}")
+    public ResponseEntity<SyncResponse> sync(@PathVariable String userId, @RequestParam(required = false) String since) {
+        try {
+            return ResponseEntity.ok(syncService.sync(userId, since));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.demo.sync;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+
+import com.example.demo.like.LikedTrack;
+import com.example.demo.playlist.Playlist;
+import com.example.demo.playlist.PlaylistTrack;
+import com.example.demo.recommendation.Recommendation;
+
+// 사용자별 변경 기록 (db/012_user_change_log.sql)
+@Mapper
+public interface SyncRepository {
+
+    // 사용자의 last_seq 를 count 만큼 올리고 (행이 없으면 만듦) 그 행을 트랜잭션 끝까지 잠금. 결과는 lastInsertId()
+    void reserveSeq(String userId, int count);
+
+    long lastInsertId();
+
+    int insertChanges(List<UserChange> changes);
+
+    SyncState findSyncState(String userId);
+
+    List<UserChange> findChangesAfter(String userId, long afterSeq, int limit);
+
+    // 변경을 다시 읽어 채울 현재 상태. 없어진 것은 결과에서 빠짐
+    List<Playlist> findPlaylistsByIds(String userId, List<String> playlistIds);
+
+    List<PlaylistTrack> findPlaylistTracksByIds(String userId, List<String> ids);
+
+    List<Recommendation> findRecommendationsByIds(String userId, List<String> recommendationIds);
+
+    List<LikedTrack> findLikedTracksByTrackIds(String userId, List<String> trackIds);
+
+    // before 이전 기록의 최대 seq 를 compacted_seq 로 올림 (기록을 지우기 전에)
+    int raiseCompactedSeq(Timestamp before);
+
+    int deleteChangesBefore(Timestamp before, int limit);
+}
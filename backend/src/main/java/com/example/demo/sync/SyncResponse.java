@@ -0,0 +1,32 @@
+package com.example.demo.sync;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.demo.like.LikedTrack;
+import com.example.demo.playlist.Playlist;
+import com.example.demo.playlist.PlaylistTrack;
+import com.example.demo.recommendation.Recommendation;
+
+import lombok.Data;
+
+// GET /api/sync/{userId} 응답. 다음 요청에는 token 을 since 로 보냄.
+// snapshot 이면 playlists/history/likedTracks 가 전체 목록이고 (캐시를 통째로 바꿈, 플레이리스트 곡은 다시 받음),
+// 아니면 since 이후 바뀐 것만 (같은 대상의 여러 변경은 마지막 상태 하나로 합침)
+@Data
+public class SyncResponse {
+    private String token;
+    private boolean snapshot;
+    // 생성/이름 변경된 플레이리스트의 현재 상태
+    private List<Playlist> playlists = new ArrayList<>();
+    private List<String> deletedPlaylistIds = new ArrayList<>();
+    // 곡 순서가 바뀐 플레이리스트
+    private List<String> reorderedPlaylistIds = new ArrayList<>();
+    private List<PlaylistTrack> addedTracks = new ArrayList<>();
+    // playlist_tracks 행 id
+    private List<Integer> removedTrackIds = new ArrayList<>();
+    private List<Recommendation> history = new ArrayList<>();
+    private List<String> deletedHistoryIds = new ArrayList<>();
+    private List<LikedTrack> likedTracks = new ArrayList<>();
+    private List<String> unlikedTrackIds = new ArrayList<>();
+}
@@ -0,0 +1,175 @@
+package com.example.demo.sync;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.common.PageCursor;
+import com.example.demo.history.HistoryRepository;
+import com.example.demo.history.HistoryService;
+import com.example.demo.like.LikedTrack;
+import com.example.demo.like.LikedTrackRepository;
+import com.example.demo.playlist.Playlist;
+import com.example.demo.playlist.PlaylistRepository;
+import com.example.demo.playlist.PlaylistTrack;
+import com.example.demo.recommendation.Recommendation;
+
+// 오프라인 우선 클라이언트의 변경분 동기화. since 토큰 이후의 user_change_log 를 대상별로 합치고 현재 상태로 채워서 돌려줌.
+// 토큰이 없거나, 그 구간이 이미 정리됐거나, 변경이 max-changes 를 넘으면 전체 스냅샷으로 응답
+@Service
+public class SyncService {
+
+    @Autowired
+    private SyncRepository syncRepository;
+
+    @Autowired
+    private PlaylistRepository playlistRepository;
+
+    @Autowired
+    private HistoryRepository historyRepository;
+
+    @Autowired
+    private LikedTrackRepository likedTrackRepository;
+
+    @Autowired
+    private HistoryService historyService;
+
+    // 한 번에 합쳐 돌려줄 최대 변경 수. 넘으면 스냅샷이 더 쌈
+    @Value("${sync.max-changes:1000}")
+    private int maxChanges;
+
+    @Value("${history.max-items:500}")
+    private int maxHistoryItems;
+
+    // 모든 조회를 한 트랜잭션 스냅샷에서 읽어 토큰과 내용이 어긋나지 않게 함.
+    // replica 로 가면 복제 지연으로 토큰이 뒤로 갈 수 있어 readOnly 를 붙이지 않음 (primary).
+    // 토큰 형식이 잘못되면 IllegalArgumentException
+    @Transactional
+    public SyncResponse sync(String userId, String since) {
+        Long sinceSeq = null;
+        if (since != null && !since.isEmpty()) {
+            sinceSeq = Long.parseLong(PageCursor.decode(since, 1)[0]);
+        }
+        SyncState state = syncRepository.findSyncState(userId);
+        long lastSeq = state == null ? 0 : state.getLastSeq();
+        long compactedSeq = state == null ? 0 : state.getCompactedSeq();
+        if (sinceSeq == null || sinceSeq < compactedSeq || sinceSeq > lastSeq) {
+            return snapshot(userId, lastSeq);
+        }
+        List<UserChange> changes = syncRepository.findChangesAfter(userId, sinceSeq, maxChanges + 1);
+        if (changes.size() > maxChanges) {
+            return snapshot(userId, lastSeq);
+        }
+        return deltas(userId, changes, lastSeq);
+    }
+
+    private SyncResponse snapshot(String userId, long lastSeq) {
+        SyncResponse response = new SyncResponse();
+        response.setToken(PageCursor.encode(lastSeq));
+        response.setSnapshot(true);
+        response.setPlaylists(playlistRepository.getPlaylists(userId));
+        response.setHistory(historyRepository.getRecommendedHistory(userId, historyService.retentionCutoff(), maxHistoryItems));
+        response.setLikedTracks(likedTrackRepository.getLikedTracks(userId));
+        return response;
+    }
+
+    private SyncResponse deltas(String userId, List<UserChange> changes, long lastSeq) {
+        // 대상 -> 마지막 변경
+        Map<String, ChangeType> playlists = new LinkedHashMap<>();
+        Set<String> reordered = new LinkedHashSet<>();
+        Map<String, ChangeType> tracks = new LinkedHashMap<>();
+        Map<String, ChangeType> history = new LinkedHashMap<>();
+        Map<String, ChangeType> likes = new LinkedHashMap<>();
+        for (UserChange change : changes) {
+            String id = change.getEntityId();
+            switch (change.getChangeType()) {
+                case PLAYLIST_UPSERTED, PLAYLIST_DELETED -> playlists.put(id, change.getChangeType());
+                case PLAYLIST_REORDERED -> reordered.add(id);
+                case TRACK_ADDED, TRACK_REMOVED -> tracks.put(id, change.getChangeType());
+                case HISTORY_CREATED, HISTORY_DELETED -> history.put(id, change.getChangeType());
+                case LIKE_ADDED, LIKE_REMOVED -> likes.put(id, change.getChangeType());
+            }
+        }
+        SyncResponse response = new SyncResponse();
+        response.setToken(PageCursor.encode(lastSeq));
+
+        // 추가/수정으로 기록됐어도 지금 없으면 삭제로 알림
+        List<String> upserted = ids(playlists, ChangeType.PLAYLIST_UPSERTED);
+        Set<String> found = new HashSet<>();
+        if (!upserted.isEmpty()) {
+            for (Playlist playlist : syncRepository.findPlaylistsByIds(userId, upserted)) {
+                response.getPlaylists().add(playlist);
+                found.add(String.valueOf(playlist.getId()));
+            }
+        }
+        for (Map.Entry<String, ChangeType> entry : playlists.entrySet()) {
+            if (!found.contains(entry.getKey())) {
+                response.getDeletedPlaylistIds().add(entry.getKey());
+            }
+        }
+        reordered.removeAll(response.getDeletedPlaylistIds());
+        response.getReorderedPlaylistIds().addAll(reordered);
+
+        List<String> added = ids(tracks, ChangeType.TRACK_ADDED);
+        found.clear();
+        if (!added.isEmpty()) {
+            for (PlaylistTrack track : syncRepository.findPlaylistTracksByIds(userId, added)) {
+                response.getAddedTracks().add(track);
+                found.add(String.valueOf(track.getId()));
+            }
+        }
+        for (String id : tracks.keySet()) {
+            if (!found.contains(id)) {
+                response.getRemovedTrackIds().add(Integer.valueOf(id));
+            }
+        }
+
+        List<String> created = ids(history, ChangeType.HISTORY_CREATED);
+        found.clear();
+        if (!created.isEmpty()) {
+            for (Recommendation recommendation : syncRepository.findRecommendationsByIds(userId, created)) {
+                response.getHistory().add(recommendation);
+                found.add(recommendation.getRecommendationId());
+            }
+        }
+        for (String id : history.keySet()) {
+            if (!found.contains(id)) {
+                response.getDeletedHistoryIds().add(id);
+            }
+        }
+
+        List<String> liked = ids(likes, ChangeType.LIKE_ADDED);
+        found.clear();
+        if (!liked.isEmpty()) {
+            for (LikedTrack track : syncRepository.findLikedTracksByTrackIds(userId, liked)) {
+                response.getLikedTracks().add(track);
+                found.add(track.getTrackId());
+            }
+        }
+        for (String id : likes.keySet()) {
+            if (!found.contains(id)) {
+                response.getUnlikedTrackIds().add(id);
+            }
+        }
+        return response;
+    }
+
+    private static List<String> ids(Map<String, ChangeType> latest, ChangeType type) {
+        List<String> ids = new ArrayList<>();
+        latest.forEach((id, last) -> {
+            if (last == type) {
+                ids.add(id);
+            }
+        });
+        return ids;
+    }
+}
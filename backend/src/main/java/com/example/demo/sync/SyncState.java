@@ -0,0 +1,11 @@
+package com.example.demo.sync;
+
+import lombok.Data;
+
+// user_sync_state 행
+@Data
+public class SyncState {
+    private String userId;
+    private long lastSeq;
+    private long compactedSeq;
+}
@@ -0,0 +1,16 @@
+package com.example.demo.sync;
+
+import java.sql.Timestamp;
+
+import lombok.Data;
+
+// user_change_log 행
+@Data
+public class UserChange {
+    private String userId;
+    private long seq;
+    private ChangeType changeType;
+    private String entityId;
+    private String parentId;
+    private Timestamp createDt;
+}
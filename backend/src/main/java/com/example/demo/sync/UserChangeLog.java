@@ -0,0 +1,83 @@
+package com.example.demo.sync;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.common.AfterCommit;
+import com.example.demo.push.PushHub;
+
+import lombok.extern.slf4j.Slf4j;
+
+// 사용자별 변경 기록 쓰기/정리. record 는 호출하는 쪽의 쓰기 트랜잭션 안에서 불러야 함 (변경과 기록이 같이 커밋/롤백).
+// seq 를 받으며 user_sync_state 행을 잠그므로 다른 락을 다 잡은 뒤, 메서드 끝에서 부르는 것이 좋음.
+// 커밋된 뒤에 이 노드의 SSE 연결 (PushHub) 로 보냄
+@Slf4j
+@Service
+public class UserChangeLog {
+
+    private static final int INSERT_CHUNK = 500;
+
+    @Autowired
+    private SyncRepository syncRepository;
+
+    @Autowired
+    private PushHub pushHub;
+
+    // 이보다 오래된 기록은 지움. 그보다 오래된 토큰을 가진 클라이언트는 스냅샷을 받음
+    @Value("${sync.retention:30d}")
+    private Duration retention;
+
+    @Value("${sync.compaction.batch-size:5000}")
+    private int batchSize;
+
+    // 소유자를 모르면 (이미 지워진 경우 등) 기록하지 않음
+    public void record(String userId, ChangeType type, Object entityId) {
+        record(userId, type, List.of(String.valueOf(entityId)), null);
+    }
+
+    public void record(String userId, ChangeType type, List<String> entityIds, String parentId) {
+        if (userId == null || entityIds.isEmpty()) {
+            return;
+        }
+        syncRepository.reserveSeq(userId, entityIds.size());
+        long seq = syncRepository.lastInsertId() - entityIds.size();
+        List<UserChange> changes = new ArrayList<>(entityIds.size());
+        for (String entityId : entityIds) {
+            UserChange change = new UserChange();
+            change.setUserId(userId);
+            change.setSeq(++seq);
+            change.setChangeType(type);
+            change.setEntityId(entityId);
+            change.setParentId(parentId);
+            changes.add(change);
+        }
+        for (int from = 0; from < changes.size(); from += INSERT_CHUNK) {
+            syncRepository.insertChanges(changes.subList(from, Math.min(from + INSERT_CHUNK, changes.size())));
+        }
+        AfterCommit.run(() -> pushHub.publish(userId, changes));
+    }
+
+    // 워터마크를 먼저 올린 뒤 지우므로, 지워진 구간을 요청한 클라이언트는 항상 스냅샷으로 넘어감
+    @Scheduled(cron = "${sync.compaction.cron:0 45 4 * * *}")
+    public void compact() {
+        long started = System.currentTimeMillis();
+        Timestamp before = Timestamp.from(Instant.now().minus(retention));
+        int users = syncRepository.raiseCompactedSeq(before);
+        int removed = 0;
+        int deleted;
+        do {
+            deleted = syncRepository.deleteChangesBefore(before, batchSize);
+            removed += deleted;
+        } while (deleted == batchSize);
+        log.info("sync change log compacted: before={}, users={}, changes={}, {}ms",
+                before, users, removed, System.currentTimeMillis() - started);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.demo.track;
+
+import com.example.demo.like.LikedTrack;
+import com.example.demo.playlist.PlaylistTrack;
+import com.example.demo.spotify.model.SpotifyTrack;
+
+import lombok.Data;
+
+// track 카탈로그 행: Spotify 곡 하나의 메타데이터. playlist_tracks / recommendation_tracks 는 track_id 로만 참조
+@Data
+public class Track {
+    private String trackId;
+    private String title;
+    private String artistIds;
+    private String artistNames;
+    private String previewUrl;
+    private String albumImageUrl;
+    private int durationMs;
+
+    public static Track from(PlaylistTrack source) {
+        Track track = new Track();
+        track.setTrackId(source.getTrackId());
+        track.setTitle(source.getTitle());
+        track.setArtistIds(source.getArtistIds());
+        track.setArtistNames(source.getArtistNames());
+        track.setPreviewUrl(source.getPreviewUrl());
+        track.setAlbumImageUrl(source.getAlbumImageUrl());
+        track.setDurationMs(source.getDurationMs());
+        return track;
+    }
+
+    public static Track from(SpotifyTrack source) {
+        Track track = new Track();
+        track.setTrackId(source.getTrackId());
+        track.setTitle(source.getTitle());
+        track.setArtistIds(source.getArtistIds());
+        track.setArtistNames(source.getArtistNames());
+        track.setPreviewUrl(source.getPreviewUrl());
+        track.setAlbumImageUrl(source.getAlbumImageUrl());
+        track.setDurationMs(source.getDurationMs());
+        return track;
+    }
+
+    public static Track from(LikedTrack source) {
+        Track track = new Track();
+        track.setTrackId(source.getTrackId());
+        track.setTitle(source.getTitle());
+        track.setArtistIds(source.getArtistIds());
+        track.setArtistNames(source.getArtistNames());
+        track.setPreviewUrl(source.getPreviewUrl());
+        track.setAlbumImageUrl(source.getAlbumImageUrl());
+        track.setDurationMs(source.getDurationMs());
+        return track;
+    }
+}
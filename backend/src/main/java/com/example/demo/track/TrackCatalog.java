@@ -0,0 +1,52 @@
+package com.example.demo.track;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.common.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+
+// 공유 track 카탈로그 쓰기 창구.
+// 이미 같은 내용으로 저장된 곡(trackCatalogCache 에 있는 곡)은 건너뛰고, 새 곡이나 바뀐 곡만 chunk 단위 upsert.
+// 곡 행을 INSERT 하는 트랜잭션 안에서 먼저 호출해야 함 (playlist_tracks / recommendation_tracks -> track FK)
+@Service
+public class TrackCatalog {
+
+    @Autowired
+    private TrackRepository trackRepository;
+
+    // key: trackId, 카탈로그에 저장된 것으로 확인된 메타데이터
+    @Autowired
+    private Cache<String, Track> trackCatalogCache;
+
+    @Value("${track.catalog.chunk-size:500}")
+    private int chunkSize;
+
+    // upsert 한 곡 수 반환
+    public int save(Collection<Track> tracks) {
+        // trackId 순서로 잠가 동시 upsert 끼리 교착되지 않게 함. 같은 곡이 여러 번 오면 마지막 값 사용
+        Map<String, Track> changed = new TreeMap<>();
+        for (Track track : tracks) {
+            if (track.getTrackId() != null && !track.equals(trackCatalogCache.getIfPresent(track.getTrackId()))) {
+                changed.put(track.getTrackId(), track);
+            }
+        }
+        if (changed.isEmpty()) {
+            return 0;
+        }
+        List<Track> rows = new ArrayList<>(changed.values());
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            trackRepository.upsertTracks(rows.subList(from, Math.min(from + chunkSize, rows.size())));
+        }
+        // 롤백되면 카탈로그에 없을 수 있으므로 커밋된 뒤에 캐시에 올림
+        AfterCommit.run(() -> rows.forEach(track -> trackCatalogCache.put(track.getTrackId(), track)));
+        return rows.size();
+    }
+}
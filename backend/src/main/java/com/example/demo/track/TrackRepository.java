@@ -0,0 +1,12 @@
+package com.example.demo.track;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+
+@Mapper
+public interface TrackRepository {
+
+    int upsertTracks(List<Track> tracks);
+
+}
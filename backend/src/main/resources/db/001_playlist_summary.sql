@@ -0,0 +1,21 @@
+-- 플레이리스트 목록 화면용 요약 테이블 (곡 수, 앞 4곡 앨범 이미지)
+-- PlaylistService 가 곡 추가/삭제와 같은 트랜잭션에서 갱신함
+CREATE TABLE IF NOT EXISTS playlist_summary (
+    playlist_id   INT          NOT NULL,
+    track_count   INT          NOT NULL DEFAULT 0,
+    thumbnail_url TEXT         NULL,
+    update_dt     TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (playlist_id)
+);
+
+-- 썸네일 갱신(앞 4곡)과 곡 목록 조회가 인덱스만 타도록
+CREATE INDEX idx_playlist_tracks_playlist_id_id ON playlist_tracks (playlist_id, id);
+
+-- 기존 데이터 채우기는 playlist.summary.backfill-on-startup=true 로 한 번 기동하거나 아래 쿼리로 실행
+-- INSERT INTO playlist_summary (playlist_id, track_count, thumbnail_url)
+-- SELECT p.id,
+--        (SELECT COUNT(1) FROM playlist_tracks pt WHERE pt.playlist_id = p.id),
+--        (SELECT GROUP_CONCAT(album_image_url ORDER BY id)
+--           FROM (SELECT id, album_image_url FROM playlist_tracks pt WHERE pt.playlist_id = p.id ORDER BY pt.id LIMIT 4) t)
+-- FROM playlist p
+-- ON DUPLICATE KEY UPDATE track_count = VALUES(track_count), thumbnail_url = VALUES(thumbnail_url);
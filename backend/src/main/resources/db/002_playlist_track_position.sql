@@ -0,0 +1,6 @@
+-- 플레이리스트 곡 순서 변경(reorder)용 정렬 컬럼. 기존 곡은 추가된 순서(id) 그대로
+ALTER TABLE playlist_tracks ADD COLUMN position INT NOT NULL DEFAULT 0;
+
+UPDATE playlist_tracks SET position = id;
+
+CREATE INDEX idx_playlist_tracks_playlist_id_position ON playlist_tracks (playlist_id, position, id);
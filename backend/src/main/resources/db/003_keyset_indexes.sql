@@ -0,0 +1,4 @@
+-- 커서(keyset) 페이지 조회용 인덱스
+CREATE INDEX idx_recommendation_tracks_recommendation_id_id ON recommendation_tracks (recommendation_id, id);
+
+CREATE INDEX idx_recommendation_user_id_create_dt ON recommendation (user_id, create_dt, recommendation_id);
@@ -0,0 +1,79 @@
+-- 콤마로 이어붙인 artist_ids / artist_genres / track_ids 를 행 단위 관계로 정규화
+-- 아티스트별/장르별 조회를 LIKE 전체 스캔 대신 인덱스로 처리하기 위함. 기존 문자열 컬럼은 그대로 둠 (클라이언트 호환)
+-- 조회는 항상 한 사용자 범위이므로 소유자 user_id 를 함께 두고 (값, user_id) 순 인덱스를 씀.
+-- 인기 아티스트/장르라도 다른 사용자 행은 읽지 않고 그 사용자 범위만 훑음 (플레이리스트/추천의 소유자는 바뀌지 않음)
+
+-- 플레이리스트 곡 - 아티스트 (곡의 n번째 아티스트)
+CREATE TABLE IF NOT EXISTS track_artist (
+    playlist_track_id INT          NOT NULL,
+    playlist_id       INT          NOT NULL,
+    user_id           VARCHAR(100) NOT NULL,
+    track_id          VARCHAR(100) NOT NULL,
+    artist_id         VARCHAR(100) NOT NULL,
+    artist_name       VARCHAR(255) NULL,
+    ordinal           SMALLINT     NOT NULL,
+    PRIMARY KEY (playlist_track_id, ordinal),
+    KEY idx_track_artist_artist_user (artist_id, user_id, playlist_id),
+    KEY idx_track_artist_playlist_artist (playlist_id, artist_id),
+    CONSTRAINT fk_track_artist_playlist_track FOREIGN KEY (playlist_track_id)
+        REFERENCES playlist_tracks (id) ON DELETE CASCADE
+);
+
+-- 추천 요청의 시드 (seed_type: track / artist / genre). genre 는 소문자로 저장
+CREATE TABLE IF NOT EXISTS recommendation_seed (
+    recommendation_id VARCHAR(100) NOT NULL,
+    user_id           VARCHAR(100) NULL,
+    seed_type         VARCHAR(10)  NOT NULL,
+    seed_value        VARCHAR(255) NOT NULL,
+    ordinal           SMALLINT     NOT NULL,
+    PRIMARY KEY (recommendation_id, seed_type, ordinal),
+    KEY idx_recommendation_seed_value_user (seed_type, seed_value, user_id),
+    CONSTRAINT fk_recommendation_seed_recommendation FOREIGN KEY (recommendation_id)
+        REFERENCES recommendation (recommendation_id) ON DELETE CASCADE
+);
+
+-- 기존 데이터 채우기 (MySQL 8 JSON_TABLE 로 콤마 목록을 행으로 펼침)
+-- 'a,b' -> '["a","b"]'. 값 안의 역슬래시/따옴표는 먼저 이스케이프
+-- 아티스트 이름은 이름 자체에 콤마가 들어갈 수 있어 id 개수와 같을 때만 같은 순서로 짝지음
+INSERT IGNORE INTO track_artist (playlist_track_id, playlist_id, user_id, track_id, artist_id, artist_name, ordinal)
+SELECT
+    pt.id,
+    pt.playlist_id,
+    p.user_id,
+    pt.track_id,
+    TRIM(a.artist_id),
+    CASE WHEN JSON_LENGTH(n.doc) = JSON_LENGTH(i.doc)
+         THEN TRIM(JSON_UNQUOTE(JSON_EXTRACT(n.doc, CONCAT('$[', a.ordinal - 1, ']'))))
+    END,
+    a.ordinal
+FROM playlist_tracks pt
+    JOIN playlist p ON p.id = pt.playlist_id
+    JOIN LATERAL (
+        SELECT CONCAT('["', REPLACE(REPLACE(REPLACE(pt.artist_ids, '\\', '\\\\'), '"', '\\"'), ',', '","'), '"]') AS doc
+    ) i ON TRUE
+    JOIN LATERAL (
+        SELECT CONCAT('["', REPLACE(REPLACE(REPLACE(COALESCE(pt.artist_names, ''), '\\', '\\\\'), '"', '\\"'), ',', '","'), '"]') AS doc
+    ) n ON TRUE
+    JOIN JSON_TABLE(i.doc, '$[*]' COLUMNS (ordinal FOR ORDINALITY, artist_id VARCHAR(100) PATH '$')) a
+WHERE pt.artist_ids IS NOT NULL AND pt.artist_ids <> '' AND TRIM(a.artist_id) <> '';
+
+INSERT IGNORE INTO recommendation_seed (recommendation_id, user_id, seed_type, seed_value, ordinal)
+SELECT r.recommendation_id, r.user_id, 'track', TRIM(s.value), s.ordinal
+FROM recommendation r
+    JOIN JSON_TABLE(CONCAT('["', REPLACE(REPLACE(REPLACE(r.track_ids, '\\', '\\\\'), '"', '\\"'), ',', '","'), '"]'),
+                    '$[*]' COLUMNS (ordinal FOR ORDINALITY, value VARCHAR(255) PATH '$')) s
+WHERE r.track_ids IS NOT NULL AND r.track_ids <> '' AND TRIM(s.value) <> '';
+
+INSERT IGNORE INTO recommendation_seed (recommendation_id, user_id, seed_type, seed_value, ordinal)
+SELECT r.recommendation_id, r.user_id, 'artist', TRIM(s.value), s.ordinal
+FROM recommendation r
+    JOIN JSON_TABLE(CONCAT('["', REPLACE(REPLACE(REPLACE(r.artist_ids, '\\', '\\\\'), '"', '\\"'), ',', '","'), '"]'),
+                    '$[*]' COLUMNS (ordinal FOR ORDINALITY, value VARCHAR(255) PATH '$')) s
+WHERE r.artist_ids IS NOT NULL AND r.artist_ids <> '' AND TRIM(s.value) <> '';
+
+INSERT IGNORE INTO recommendation_seed (recommendation_id, user_id, seed_type, seed_value, ordinal)
+SELECT r.recommendation_id, r.user_id, 'genre', LOWER(TRIM(s.value)), s.ordinal
+FROM recommendation r
+    JOIN JSON_TABLE(CONCAT('["', REPLACE(REPLACE(REPLACE(r.artist_genres, '\\', '\\\\'), '"', '\\"'), ',', '","'), '"]'),
+                    '$[*]' COLUMNS (ordinal FOR ORDINALITY, value VARCHAR(255) PATH '$')) s
+WHERE r.artist_genres IS NOT NULL AND r.artist_genres <> '' AND TRIM(s.value) <> '';
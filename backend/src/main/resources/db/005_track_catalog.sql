@@ -0,0 +1,43 @@
+-- 곡 메타데이터(제목, 아티스트, 미리듣기/앨범 이미지 URL, 길이)를 track_id 기준 공유 카탈로그로 분리.
+-- playlist_tracks / recommendation_tracks 는 track_id 만 들고 조회 시 track 과 조인함.
+-- 컬럼 삭제가 포함되어 있으므로 이 변경을 포함한 애플리케이션 배포와 함께 적용
+
+CREATE TABLE IF NOT EXISTS track (
+    track_id        VARCHAR(100)  NOT NULL PRIMARY KEY,
+    title           VARCHAR(500)  NULL,
+    artist_ids      VARCHAR(1000) NULL,
+    artist_names    VARCHAR(1000) NULL,
+    preview_url     VARCHAR(1000) NULL,
+    album_image_url VARCHAR(1000) NULL,
+    duration_ms     INT           NULL,
+    update_dt       TIMESTAMP     NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+-- 기존 데이터 채우기: 곡마다 가장 최근에 저장된 행의 메타데이터 사용 (플레이리스트 쪽 우선)
+INSERT IGNORE INTO track (track_id, title, artist_ids, artist_names, preview_url, album_image_url, duration_ms)
+SELECT pt.track_id, pt.title, pt.artist_ids, pt.artist_names, pt.preview_url, pt.album_image_url, pt.duration_ms
+FROM playlist_tracks pt
+JOIN (SELECT MAX(id) AS id FROM playlist_tracks GROUP BY track_id) latest ON latest.id = pt.id;
+
+INSERT IGNORE INTO track (track_id, title, artist_ids, artist_names, preview_url, album_image_url, duration_ms)
+SELECT rt.track_id, rt.title, rt.artist_ids, rt.artist_names, rt.preview_url, rt.album_image_url, rt.duration_ms
+FROM recommendation_tracks rt
+JOIN (SELECT MAX(id) AS id FROM recommendation_tracks GROUP BY track_id) latest ON latest.id = rt.id;
+
+ALTER TABLE playlist_tracks
+    DROP COLUMN title,
+    DROP COLUMN artist_ids,
+    DROP COLUMN artist_names,
+    DROP COLUMN preview_url,
+    DROP COLUMN album_image_url,
+    DROP COLUMN duration_ms,
+    ADD CONSTRAINT fk_playlist_tracks_track FOREIGN KEY (track_id) REFERENCES track (track_id);
+
+ALTER TABLE recommendation_tracks
+    DROP COLUMN title,
+    DROP COLUMN artist_ids,
+    DROP COLUMN artist_names,
+    DROP COLUMN preview_url,
+    DROP COLUMN album_image_url,
+    DROP COLUMN duration_ms,
+    ADD CONSTRAINT fk_recommendation_tracks_track FOREIGN KEY (track_id) REFERENCES track (track_id);
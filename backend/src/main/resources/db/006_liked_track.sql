@@ -0,0 +1,32 @@
+-- 좋아요 곡을 공유 플레이리스트(playlist.id = 0, user_id = 'system')에서 사용자별 테이블로 분리.
+-- 조회/추가/삭제가 (user_id, ...) 인덱스만 타므로 비용이 전체 사용자 수가 아니라 그 사용자의 좋아요 수에 비례함
+
+CREATE TABLE IF NOT EXISTS liked_track (
+    id        INT          NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    user_id   VARCHAR(100) NOT NULL,
+    track_id  VARCHAR(100) NOT NULL,
+    create_dt TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_liked_track_user_track (user_id, track_id),
+    KEY idx_liked_track_user_id (user_id, id),
+    CONSTRAINT fk_liked_track_track FOREIGN KEY (track_id) REFERENCES track (track_id)
+);
+
+-- 기존 좋아요 옮기기. 플레이리스트 0 에는 누가 좋아요 했는지가 남아 있지 않아 사용자별로 나눌 수 없으므로
+-- 플레이리스트를 가진 사용자가 한 명뿐일 때 (그 사용자의 좋아요임이 분명할 때) 만 그 사용자에게 옮기고 정리함.
+-- 여러 사용자가 있으면 아무것도 옮기거나 지우지 않음 (플레이리스트 0 은 목록에 나오지 않고 그대로 남음)
+SET @liked_owner = (
+    SELECT IF(COUNT(DISTINCT user_id) = 1, MIN(user_id), NULL)
+    FROM playlist
+    WHERE user_id <> 'system'
+);
+
+INSERT IGNORE INTO liked_track (user_id, track_id, create_dt)
+SELECT @liked_owner, pt.track_id, CURRENT_TIMESTAMP
+FROM playlist_tracks pt
+WHERE pt.playlist_id = 0 AND @liked_owner IS NOT NULL
+ORDER BY pt.position, pt.id;
+
+-- 옮긴 뒤 플레이리스트 0 정리 (track_artist 는 FK 로 함께 삭제됨)
+DELETE FROM playlist_tracks WHERE playlist_id = 0 AND @liked_owner IS NOT NULL;
+DELETE FROM playlist_summary WHERE playlist_id = 0 AND @liked_owner IS NOT NULL;
+DELETE FROM playlist WHERE id = 0 AND user_id = 'system' AND @liked_owner IS NOT NULL;
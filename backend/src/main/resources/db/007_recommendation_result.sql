@@ -0,0 +1,18 @@
+-- 같은 시드 집합(trackIds / artistIds / artistGenres)의 추천 결과 재사용.
+-- 새 추천은 지문이 같은 유효한 결과가 있으면 recommendation_tracks 를 새로 만들지 않고 result_id 로 그 추천을 가리킴.
+-- 결과 곡(recommendation_tracks)은 result_id 로 가리키는 추천이 남아 있는 동안 지우면 안 됨
+
+ALTER TABLE recommendation
+    ADD COLUMN seed_fingerprint CHAR(64)     NULL,
+    ADD COLUMN result_id        VARCHAR(100) NULL,
+    ADD KEY idx_recommendation_result_id (result_id);
+
+-- 시드 지문 -> 결과를 가진 추천. expire_dt 가 지나면 다음 저장 결과로 교체됨
+CREATE TABLE IF NOT EXISTS recommendation_result (
+    seed_fingerprint CHAR(64)     NOT NULL PRIMARY KEY,
+    result_id        VARCHAR(100) NOT NULL,
+    create_dt        TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expire_dt        TIMESTAMP    NOT NULL,
+    KEY idx_recommendation_result_result_id (result_id),
+    KEY idx_recommendation_result_expire_dt (expire_dt)
+);
@@ -0,0 +1,4 @@
+-- 추천 기록 보존 기간 정리 (HistoryRetentionService, delete 모드).
+-- 만료 대상을 create_dt 순으로 batch-size 개씩 찾으므로 create_dt 단독 인덱스가 필요함.
+-- 사용자별 조회는 003 의 (user_id, create_dt, recommendation_id) 인덱스 범위만 읽음
+CREATE INDEX idx_recommendation_create_dt ON recommendation (create_dt);
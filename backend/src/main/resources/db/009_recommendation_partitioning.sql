@@ -0,0 +1,27 @@
+-- 선택: history.retention.mode=partition 으로 쓸 때만 적용.
+-- recommendation 을 create_dt 월 단위 RANGE 파티션으로 나눠, 보존 기간이 지난 달은 DELETE 대신 DROP PARTITION 으로 지움.
+-- MySQL 파티션 테이블은 외래 키를 가질 수도, 참조될 수도 없어 recommendation_seed 의 FK 를 없앰
+-- (추천 삭제 시 시드는 HistoryService / HistoryRetentionService 가 직접 지움).
+-- 모든 유일 키에 파티션 컬럼이 들어가야 하므로 PK 는 (recommendation_id, create_dt) 가 됨.
+-- p_initial 의 경계는 실행 시점 (UTC) 다음 달 1일 0시의 epoch 초로 계산함. 세션 시간대를 타지 않도록 UNIX_TIMESTAMP('문자열')
+-- 대신 DATETIME 차이로 구함 (HistoryRetentionService 도 UTC 로 같은 경계를 만듦). 이후 달 파티션은 정리 작업이 partitions-ahead 만큼 미리 만듦
+
+ALTER TABLE recommendation_seed DROP FOREIGN KEY fk_recommendation_seed_recommendation;
+
+ALTER TABLE recommendation
+    MODIFY create_dt TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (recommendation_id, create_dt);
+
+-- 파티션 경계는 상수여야 하므로 계산한 값으로 문장을 만들어 실행
+SET @initial_bound = TIMESTAMPDIFF(SECOND, '1970-01-01 00:00:00',
+    DATE_FORMAT(UTC_TIMESTAMP() + INTERVAL 1 MONTH, '%Y-%m-01 00:00:00'));
+
+SET @partition_sql = CONCAT(
+    'ALTER TABLE recommendation PARTITION BY RANGE (UNIX_TIMESTAMP(create_dt)) (',
+    ' PARTITION p_initial VALUES LESS THAN (', @initial_bound, '),',
+    ' PARTITION pmax VALUES LESS THAN MAXVALUE)');
+
+PREPARE partition_stmt FROM @partition_sql;
+EXECUTE partition_stmt;
+DEALLOCATE PREPARE partition_stmt;
@@ -0,0 +1,15 @@
+-- 유사 트랙 인덱스 (similarity 패키지) 에 넣을 선택적 오디오 특성. Spotify audio-features 값을 POST /api/similarity/audio-features 로 가져옴.
+-- 곡 카탈로그보다 먼저 들어올 수 있어 track 에 FK 를 걸지 않음 (인덱스에 없는 곡의 특성은 구축 때 무시)
+CREATE TABLE IF NOT EXISTS track_audio_feature (
+    track_id         VARCHAR(100) NOT NULL PRIMARY KEY,
+    danceability     FLOAT        NULL,
+    energy           FLOAT        NULL,
+    valence          FLOAT        NULL,
+    acousticness     FLOAT        NULL,
+    instrumentalness FLOAT        NULL,
+    speechiness      FLOAT        NULL,
+    liveness         FLOAT        NULL,
+    tempo            FLOAT        NULL,
+    loudness         FLOAT        NULL,
+    update_dt        TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,25 @@
+-- 사용자별 "for you" 피드 (feed 패키지). 배치 파이프라인이 사용자마다 순위대로 다시 쓰고,
+-- GET /api/recommendation/feed/{userId} 는 PK (user_id, rank_no) 범위 한 번만 읽음
+CREATE TABLE IF NOT EXISTS user_feed (
+    user_id   VARCHAR(100) NOT NULL,
+    rank_no   INT          NOT NULL,
+    track_id  VARCHAR(100) NOT NULL,
+    run_id    BIGINT       NOT NULL,
+    create_dt TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (user_id, rank_no)
+);
+
+-- 파이프라인 실행 기록. 중간에 죽으면 다음 실행이 checkpoint_user_id 다음 사용자부터 이어서 처리
+CREATE TABLE IF NOT EXISTS feed_run (
+    run_id             BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    status             VARCHAR(20)  NOT NULL,
+    checkpoint_user_id VARCHAR(100) NULL,
+    users_processed    INT          NOT NULL DEFAULT 0,
+    started_dt         TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    heartbeat_dt       TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    finished_dt        TIMESTAMP    NULL,
+    KEY idx_feed_run_status (status, run_id)
+);
+
+-- 대상 사용자 keyset 조회 (user_id 순)
+CREATE INDEX idx_playlist_user_id ON playlist (user_id);
@@ -0,0 +1,22 @@
+-- 오프라인 클라이언트 동기화용 사용자별 변경 기록 (sync 패키지, GET /api/sync/{userId}?since=).
+-- seq 는 사용자마다 1 부터 증가. 쓰기 트랜잭션이 user_sync_state 행을 갱신해 번호를 받으므로
+-- 같은 사용자의 쓰기는 커밋 순서와 seq 순서가 같음 (작은 seq 가 나중에 보이는 일이 없음)
+CREATE TABLE IF NOT EXISTS user_sync_state (
+    user_id       VARCHAR(100) NOT NULL PRIMARY KEY,
+    last_seq      BIGINT       NOT NULL,
+    -- 이 seq 이하의 기록은 정리됨. 클라이언트 토큰이 이보다 작으면 스냅샷으로 응답
+    compacted_seq BIGINT       NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS user_change_log (
+    user_id     VARCHAR(100) NOT NULL,
+    seq         BIGINT       NOT NULL,
+    change_type VARCHAR(30)  NOT NULL,
+    -- 플레이리스트 id / playlist_tracks 행 id / 추천 id / 좋아요 곡 track_id
+    entity_id   VARCHAR(100) NOT NULL,
+    -- 곡 추가/삭제의 플레이리스트 id
+    parent_id   VARCHAR(100) NULL,
+    create_dt   TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (user_id, seq),
+    KEY idx_user_change_log_create_dt (create_dt)
+);
@@ -0,0 +1,58 @@
+package com.example.demo.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// 서로 다른 두 H2 인메모리 DB 를 primary / replica 로 두고 어느 쪽에서 읽는지 확인
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate jdbc;
+    private TransactionTemplate write;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        DataSource routing = DataSourceConfig.routingDataSource(primary, replica);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        jdbc = new JdbcTemplate(routing);
+        write = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplica() {
+        String node = readOnly.execute(status -> whoAmI());
+        assertThat(node).isEqualTo("replica");
+    }
+
+    @Test
+    void writeTransactionsAndPlainCallsUsePrimary() {
+        String node = write.execute(status -> whoAmI());
+        assertThat(node).isEqualTo("primary");
+        assertThat(whoAmI()).isEqualTo("primary");
+    }
+
+    private String whoAmI() {
+        return jdbc.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbc.update("DELETE FROM node");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
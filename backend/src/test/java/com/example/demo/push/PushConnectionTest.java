@@ -0,0 +1,44 @@
+package com.example.demo.push;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class PushConnectionTest {
+
+    @Test
+    void startsOneDrainUntilQueueIsEmpty() {
+        PushConnection connection = new PushConnection("u1", new SseEmitter(), 4, new LongAdder());
+
+        assertThat(connection.offer("a")).isEqualTo(PushConnection.Offer.DRAIN);
+        assertThat(connection.offer("b")).isEqualTo(PushConnection.Offer.QUEUED);
+        // 보낼 것이 밀려 있으면 heartbeat 는 넣지 않음
+        assertThat(connection.offer(PushConnection.HEARTBEAT)).isEqualTo(PushConnection.Offer.QUEUED);
+        assertThat(connection.poll()).isEqualTo("a");
+        assertThat(connection.poll()).isEqualTo("b");
+        assertThat(connection.poll()).isNull();
+        assertThat(connection.offer("c")).isEqualTo(PushConnection.Offer.DRAIN);
+    }
+
+    @Test
+    void replacesOverflowWithResyncAndStallsWhenResyncIsNotRead() {
+        LongAdder dropped = new LongAdder();
+        PushConnection connection = new PushConnection("u1", new SseEmitter(), 2, dropped);
+
+        connection.offer("a");
+        connection.offer("b");
+        assertThat(connection.offer("c")).isEqualTo(PushConnection.Offer.QUEUED);
+        assertThat(dropped.sum()).isEqualTo(2);
+        connection.offer("d");
+        assertThat(connection.offer("e")).isEqualTo(PushConnection.Offer.STALLED);
+
+        assertThat(connection.poll()).isSameAs(PushConnection.RESYNC);
+        assertThat(connection.poll()).isEqualTo("d");
+        connection.close();
+        assertThat(connection.offer("f")).isEqualTo(PushConnection.Offer.CLOSED);
+        assertThat(connection.poll()).isNull();
+    }
+}
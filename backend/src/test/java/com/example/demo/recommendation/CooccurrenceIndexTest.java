@@ -0,0 +1,81 @@
+package com.example.demo.recommendation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.spotify.model.SpotifyTrack;
+
+class CooccurrenceIndexTest {
+
+    @Test
+    void ranksTracksThatShareBasketsWithSeed() {
+        CooccurrenceIndex index = new CooccurrenceIndex(50);
+        index.addTrack("p1", track("a", "x"));
+        index.addTrack("p1", track("b", "y"));
+        index.addTrack("p1", track("c", "z"));
+        index.addTrack("p2", track("a", "x"));
+        index.addTrack("p2", track("b", "y"));
+
+        List<SpotifyTrack> result = index.recommend(List.of("a"), List.of(), List.of(), 10);
+
+        assertThat(result).extracting(SpotifyTrack::getTrackId).containsExactly("b", "c");
+    }
+
+    @Test
+    void removingTrackKeepsWindowedPairsExact() {
+        CooccurrenceIndex index = new CooccurrenceIndex(1);
+        index.addTrack("p1", track("a", "x"));
+        index.addTrack("p1", track("b", "x"));
+        index.addTrack("p1", track("c", "x"));
+
+        // window 1: a-b, b-c 만 묶임. b 를 빼면 a-c 가 새로 묶여야 함
+        assertThat(index.recommend(List.of("a"), List.of(), List.of(), 10))
+                .extracting(SpotifyTrack::getTrackId).containsExactly("b");
+        index.removeTrack("p1", "b", 0);
+        assertThat(index.recommend(List.of("a"), List.of(), List.of(), 10))
+                .extracting(SpotifyTrack::getTrackId).containsExactly("c");
+
+        index.removeBasket("p1");
+        assertThat(index.recommend(List.of("a"), List.of("x"), List.of(), 10)).isEmpty();
+    }
+
+    @Test
+    void removesExactRowWhenTrackIsRepeated() {
+        CooccurrenceIndex index = new CooccurrenceIndex(50);
+        index.addTrack("p1", track("a", "x"), 1);
+        index.addTrack("p1", track("b", "x"), 2);
+        index.addTrack("p1", track("a", "x"), 3);
+
+        index.removeTrack("p1", "a", 3);
+
+        assertThat(index.hasMembers("p1")).isTrue();
+        assertThat(index.hasRow("p1", 1)).isTrue();
+        assertThat(index.hasRow("p1", 3)).isFalse();
+        assertThat(index.recommend(List.of("b"), List.of(), List.of(), 10))
+                .extracting(SpotifyTrack::getTrackId).containsExactly("a");
+        assertThat(index.compactedCopy().recommend(List.of("b"), List.of(), List.of(), 10))
+                .extracting(SpotifyTrack::getTrackId).containsExactly("a");
+    }
+
+    @Test
+    void seedArtistsAndGenresPointAtRecommendationResults() {
+        CooccurrenceIndex index = new CooccurrenceIndex(50);
+        index.setSeeds("r1", "seed-artist", "k-pop");
+        index.addTrack("r1", track("a", "x"));
+
+        assertThat(index.recommend(List.of(), List.of("seed-artist"), List.of(), 10))
+                .extracting(SpotifyTrack::getTrackId).containsExactly("a");
+        assertThat(index.recommend(List.of(), List.of(), List.of("k-pop"), 10))
+                .extracting(SpotifyTrack::getTrackId).containsExactly("a");
+    }
+
+    private static SpotifyTrack track(String trackId, String artistIds) {
+        SpotifyTrack track = new SpotifyTrack();
+        track.setTrackId(trackId);
+        track.setArtistIds(artistIds);
+        return track;
+    }
+}
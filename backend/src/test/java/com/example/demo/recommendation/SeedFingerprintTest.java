@@ -0,0 +1,32 @@
+package com.example.demo.recommendation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class SeedFingerprintTest {
+
+    @Test
+    void ignoresOrderDuplicatesWhitespaceAndGenreCase() {
+        String a = SeedFingerprint.of(seeds("t1,t2", "a1", "K-Pop,dance"));
+        String b = SeedFingerprint.of(seeds(" t2, t1,t1", "a1,", "dance,k-pop"));
+
+        assertThat(a).hasSize(64).isEqualTo(b);
+    }
+
+    @Test
+    void keepsSeedTypesApart() {
+        // 같은 값이라도 트랙 시드와 아티스트 시드는 다른 시드 집합
+        assertThat(SeedFingerprint.of(seeds("x", null, null)))
+                .isNotEqualTo(SeedFingerprint.of(seeds(null, "x", null)));
+        assertThat(SeedFingerprint.of(seeds(null, "", " "))).isNull();
+    }
+
+    private static Recommendation seeds(String trackIds, String artistIds, String genres) {
+        Recommendation recommendation = new Recommendation();
+        recommendation.setTrackIds(trackIds);
+        recommendation.setArtistIds(artistIds);
+        recommendation.setArtistGenres(genres);
+        return recommendation;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.demo.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.spotify.model.SpotifyTrack;
+
+class UserSearchIndexTest {
+
+    @Test
+    void matchesWordPrefixesAndRanksTitleAboveArtist() {
+        UserSearchIndex index = new UserSearchIndex();
+        index.replaceSource("p1", List.of(track("a", "Love Story", "Taylor Swift"), track("b", "Shake It Off", "Lovelyz")));
+
+        assertThat(index.search("lov", 10)).extracting(SpotifyTrack::getTrackId).containsExactly("a", "b");
+        assertThat(index.search("sto tay", 10)).extracting(SpotifyTrack::getTrackId).containsExactly("a");
+        assertThat(index.search("ove", 10)).isEmpty();
+    }
+
+    @Test
+    void matchesHangulWhileTypingAndByInitials() {
+        UserSearchIndex index = new UserSearchIndex();
+        index.replaceSource("p1", List.of(track("a", "사랑했지만", "김광석"), track("b", "밤편지", "아이유")));
+
+        // 입력 중인 글자 ("살" -> "사랑"), 띄어쓰기 없는 제목의 중간 ("했지"), 초성
+        assertThat(index.search("살", 10)).extracting(SpotifyTrack::getTrackId).containsExactly("a");
+        assertThat(index.search("했지", 10)).extracting(SpotifyTrack::getTrackId).containsExactly("a");
+        assertThat(index.search("ㅂㅍ", 10)).extracting(SpotifyTrack::getTrackId).containsExactly("b");
+        assertThat(index.search("ＩＵ 아이", 10)).isEmpty();
+    }
+
+    @Test
+    void replacingAndRemovingSourcesKeepsTracksSharedWithOtherSources() {
+        UserSearchIndex index = new UserSearchIndex();
+        index.replaceSource("p1", List.of(track("a", "Butter", "BTS"), track("b", "Dynamite", "BTS")));
+        index.replaceSource("r1", List.of(track("a", "Butter", "BTS")));
+
+        index.replaceSource("p1", List.of(track("b", "Dynamite", "BTS")));
+        assertThat(index.search("bts", 10)).extracting(SpotifyTrack::getTrackId).containsExactly("a", "b");
+
+        index.removeSource("r1");
+        assertThat(index.search("butter", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void addsAndRemovesPlaylistRowsOneAtATime() {
+        UserSearchIndex index = new UserSearchIndex();
+        index.addSource("p1");
+        index.addTrack("p1", track("a", "Butter", "BTS"), 1);
+        index.addTrack("p1", track("a", "Butter", "BTS"), 2);
+        assertThat(index.hasRow("p1", 2)).isTrue();
+
+        // 같은 곡이 두 번 담겼으면 한 행을 빼도 남음
+        assertThat(index.removeTrack("p1", "a", 1)).isTrue();
+        assertThat(index.removeTrack("p1", "a", 1)).isFalse();
+        assertThat(index.search("butter", 10)).extracting(SpotifyTrack::getTrackId).containsExactly("a");
+
+        index.removeTrack("p1", "a", 2);
+        assertThat(index.search("butter", 10)).isEmpty();
+        assertThat(index.hasSource("p1")).isTrue();
+        assertThat(index.hasMembers("p1")).isFalse();
+    }
+
+    private static SpotifyTrack track(String trackId, String title, String artistNames) {
+        SpotifyTrack track = new SpotifyTrack();
+        track.setTrackId(trackId);
+        track.setTitle(title);
+        track.setArtistNames(artistNames);
+        return track;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.similarity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class HnswIndexTest {
+
+    @Test
+    void findsMostOfTheExactNeighbors() {
+        Random random = new Random(7);
+        VectorStore vectors = randomVectors(random, 3000, 32);
+        HnswIndex index = HnswIndex.build(vectors, 16, 100, 1);
+
+        int hits = 0;
+        int queries = 50;
+        for (int q = 0; q < queries; q++) {
+            float[] query = vectors.copy(random.nextInt(vectors.size()));
+            Set<Integer> exact = nodes(HnswIndex.exactSearch(vectors, query, 10));
+            hits += (int) index.search(query, 10, 64).stream().filter(n -> exact.contains(n.node())).count();
+        }
+
+        assertThat(hits / (queries * 10.0)).isGreaterThan(0.9);
+    }
+
+    @Test
+    void returnsTheQueryItselfFirst() {
+        VectorStore vectors = randomVectors(new Random(3), 500, 16);
+        HnswIndex index = HnswIndex.build(vectors, 8, 50, 1);
+
+        List<HnswIndex.Neighbor> found = index.search(vectors.copy(123), 5, 32);
+
+        assertThat(found).hasSize(5);
+        assertThat(found.get(0).node()).isEqualTo(123);
+        assertThat(found.get(0).score()).isGreaterThanOrEqualTo(found.get(4).score());
+    }
+
+    private static VectorStore randomVectors(Random random, int count, int dims) {
+        VectorStore vectors = new VectorStore(dims, 16);
+        for (int i = 0; i < count; i++) {
+            int node = vectors.append();
+            for (int d = 0; d < dims; d++) {
+                vectors.set(node, d, (float) random.nextGaussian());
+            }
+            vectors.scale(node, 0, dims, 1f);
+        }
+        return vectors;
+    }
+
+    private static Set<Integer> nodes(List<HnswIndex.Neighbor> neighbors) {
+        Set<Integer> nodes = new HashSet<>();
+        neighbors.forEach(n -> nodes.add(n.node()));
+        return nodes;
+    }
+}
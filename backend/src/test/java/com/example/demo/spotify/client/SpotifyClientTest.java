@@ -0,0 +1,90 @@
+package com.example.demo.spotify.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SpotifyClientTest {
+
+    private SpotifyStubServer stub;
+
+    @BeforeEach
+    void startStub() throws Exception {
+        stub = new SpotifyStubServer();
+    }
+
+    @AfterEach
+    void stopStub() {
+        stub.close();
+    }
+
+    private SpotifyClient client(double permitsPerSecond, int burst) {
+        return new SpotifyClient(new SpotifyClient.Settings(
+                "id", "secret", "http://localhost/callback", stub.baseUrl(), stub.baseUrl(),
+                Duration.ofSeconds(1), Duration.ofSeconds(5), permitsPerSecond, burst,
+                3, Duration.ofMillis(20), Duration.ofSeconds(5)), new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void honoursRetryAfterOn429() throws Exception {
+        stub.failNext(429, 1);
+        try (SpotifyClient client = client(100, 10)) {
+            long start = System.nanoTime();
+            Map<String, Object> token = client.refreshToken("refresh").get();
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            assertThat(token).containsKey("access_token");
+            assertThat(stub.tokenRequests()).isEqualTo(2);
+            assertThat(elapsedMillis).isGreaterThanOrEqualTo(900);
+        }
+    }
+
+    @Test
+    void doesNotRetryAuthorizationCodeOnServerError() {
+        stub.failNext(500, null);
+        try (SpotifyClient client = client(100, 10)) {
+            assertThatThrownBy(() -> client.exchangeCode("code").get())
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(SpotifyApiException.class);
+            assertThat(stub.tokenRequests()).isEqualTo(1);
+        }
+    }
+
+    // 로그인 1회 = 토큰 교환 + /v1/me. 버스트가 전부 성공하고 속도 제한을 지키는지 확인
+    @Test
+    void loginBurstCompletesWithinRateLimit() throws Exception {
+        int logins = 200;
+        stub.setLatencyMillis(20);
+        try (SpotifyClient client = client(400, 100)) {
+            List<CompletableFuture<?>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int i = 0; i < logins; i++) {
+                futures.add(client.exchangeCode("code-" + i)
+                        .thenCompose(token -> client.getCurrentUser((String) token.get("access_token"))));
+            }
+            for (CompletableFuture<?> future : futures) {
+                future.get();
+            }
+            long totalMillis = (System.nanoTime() - start) / 1_000_000;
+
+            assertThat(stub.tokenRequests()).isEqualTo(logins);
+            assertThat(stub.profileRequests()).isEqualTo(logins);
+            // 400 호출 중 버스트 100 을 넘는 300 개는 초당 400 으로 제한됨
+            assertThat(totalMillis).isGreaterThanOrEqualTo(600);
+        }
+    }
+}
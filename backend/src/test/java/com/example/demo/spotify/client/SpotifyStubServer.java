@@ -0,0 +1,90 @@
+package com.example.demo.spotify.client;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+// 로컬 Spotify 스텁. /api/token, /v1/me 를 흉내내고 응답 지연과 429/5xx 를 미리 끼워 넣을 수 있음
+class SpotifyStubServer implements AutoCloseable {
+
+    // 다음 요청들에 순서대로 돌려줄 비정상 응답 (status, Retry-After 초)
+    record Failure(int status, Integer retryAfterSeconds) {
+    }
+
+    private final HttpServer server;
+    private final ConcurrentLinkedQueue<Failure> failures = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger tokenRequests = new AtomicInteger();
+    private final AtomicInteger profileRequests = new AtomicInteger();
+    private volatile long latencyMillis;
+
+    SpotifyStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/api/token", exchange -> {
+            tokenRequests.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            respond(exchange, """
+                    {"access_token":"access-%d","refresh_token":"refresh","scope":"user-read-private",\
+                    "expires_in":3600,"token_type":"Bearer"}""".formatted(tokenRequests.get()));
+        });
+        server.createContext("/v1/me", exchange -> {
+            profileRequests.incrementAndGet();
+            respond(exchange, """
+                    {"id":"stub-user","email":"stub@example.com","display_name":"Stub"}""");
+        });
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    void failNext(int status, Integer retryAfterSeconds) {
+        failures.add(new Failure(status, retryAfterSeconds));
+    }
+
+    void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    int tokenRequests() {
+        return tokenRequests.get();
+    }
+
+    int profileRequests() {
+        return profileRequests.get();
+    }
+
+    private void respond(HttpExchange exchange, String json) throws IOException {
+        try {
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Failure failure = failures.poll();
+        int status = failure == null ? 200 : failure.status();
+        byte[] body = (failure == null ? json : "{\"error\":\"stub\"}").getBytes(StandardCharsets.UTF_8);
+        if (failure != null && failure.retryAfterSeconds() != null) {
+            exchange.getResponseHeaders().add("Retry-After", String.valueOf(failure.retryAfterSeconds()));
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
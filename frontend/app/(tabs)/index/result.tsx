@@ -3,7 +3,7 @@ import axios from "axios";
 import { API_BASE_URL } from "@/services/api-config";
 import { useRoute } from "@react-navigation/native";
 import { getAccessToken } from "@/services/tokenService";
-import { RecommendationReq, seed_genres, SpotifyTrack } from "@/types/spotify";
+import { RecommendationReq, convertSpotifyTrack2Array, seed_genres, SpotifyTrack } from "@/types/spotify";
 import RecommendationTracks from "@/components/RecommendationTracks";
 import { ActivityIndicator } from "react-native";
 
@@ -16,6 +16,7 @@ export default function PlaylistResultScreen() {
   const [recommendedationTracks, setRecommendedationTracks] = useState<
     SpotifyTrack[]
   >([]);
+  const [reused, setReused] = useState(false);
 
   useEffect(() => {
     const Recommendations = async () => {
@@ -29,6 +30,18 @@ export default function PlaylistResultScreen() {
         const recommendationData = recommendation.data;
         setRecommendationReq(recommendationData);
 
+        // 같은 시드의 결과가 이미 저장돼 있으면 Spotify 를 부르지 않고 그 곡을 씀
+        if (recommendationData.resultId) {
+          const saved = await axios.get(
+            `${API_BASE_URL}/api/recommendation/${recommendationId}/tracks`
+          );
+          if (saved.data.length > 0) {
+            setRecommendedationTracks(convertSpotifyTrack2Array(saved.data));
+            setReused(true);
+            return;
+          }
+        }
+
         const accessToken = await getAccessToken();
 
         // 2. 장르 문자열을 배열로 분리하고, 유효한 장르만 필터링
@@ -83,6 +96,7 @@ export default function PlaylistResultScreen() {
       recommendedationTracks={recommendedationTracks}
       recommendationId={recommendationId}
       recommendationReq={recommendationReq}
+      skipSave={reused}
     />
   );
 }
@@ -9,12 +9,13 @@ interface RecommendationListProps {
   recommendedationTracks: SpotifyTrack[];
   recommendationId: string;
   recommendationReq: RecommendationReq;
+  skipSave?: boolean; // 서버에 이미 저장된 결과를 보여주는 경우
 }
   
-export default function RecommendationTracks({ recommendedationTracks, recommendationId, recommendationReq }: RecommendationListProps) {
+export default function RecommendationTracks({ recommendedationTracks, recommendationId, recommendationReq, skipSave }: RecommendationListProps) {
   useEffect(() => {
     const saveRecommendationTracks = async () => {
-      if (!recommendedationTracks.length || !recommendationId) return; // 조건 추가
+      if (!recommendedationTracks.length || !recommendationId || skipSave) return; // 조건 추가
 
       try {
         const tracks = recommendedationTracks.map((track) => ({
@@ -43,7 +44,7 @@ export default function RecommendationTracks({ recommendedationTracks, recommend
     }
 
     saveRecommendationTracks();
-  }, [recommendedationTracks, recommendationId]);
+  }, [recommendedationTracks, recommendationId, skipSave]);
 
   return (
     <RecommendationLayout 
@@ -1,6 +1,7 @@
 import AsyncStorage from '@react-native-async-storage/async-storage';
 import axios from 'axios';
 import { API_BASE_URL } from './api-config';
+import { getSpotifyId } from './tokenService';
 import { convertplaylistTracksArray, PlaylistTrack, SpotifyTrack } from '@/types/spotify';
 
 const LIKED_SONGS_KEY = 'liked_songs';
@@ -8,8 +9,9 @@ const LIKED_SONGS_KEY = 'liked_songs';
 // 서버에서 좋아요 목록을 가져오는 함수
 export const loadLikedSongsFromDB = async () => {
   try {
-    const playlistId = 0;
-    const response = await axios.get(`${API_BASE_URL}/api/playlist/${playlistId}/tracks`);
+    const userId = await getSpotifyId();
+    if (!userId) return [];
+    const response = await axios.get(`${API_BASE_URL}/api/like/${userId}/tracks`);
     const playlistTracksData: SpotifyTrack[] = convertplaylistTracksArray(response.data);
     const likedSongs = playlistTracksData; // 서버에서 받은 좋아요 목록
     
@@ -46,8 +48,9 @@ export const saveLikedSongs = async (track: SpotifyTrack[]) => {
 // 서버와 AsyncStorage에 좋아요 추가
 export const addLikedSong = async (track: SpotifyTrack) => {
   try {
-    await axios.post(`${API_BASE_URL}/api/playlist/track/save`, {
-      playlistId: 0,
+    const userId = await getSpotifyId();
+    if (!userId) return;
+    await axios.post(`${API_BASE_URL}/api/like/${userId}/tracks`, {
       trackId: track.id,
       title: track.name,
       artistIds: track.artists.map(artist => artist.id).join(','), // 아티스트 ID들
@@ -65,15 +68,11 @@ export const addLikedSong = async (track: SpotifyTrack) => {
 };
 
 // 서버와 AsyncStorage에서 좋아요 제거
-// 고민이다 deleteID로 할까 아님 트랙 아이디로 할까
 export const removeLikedSong = async (track: SpotifyTrack) => {
   try {
-    await axios.delete(`${API_BASE_URL}/api/playlist/track`, {
-      params: {
-        id: track.deleteId,
-        playlistId: 0,
-      },
-    });
+    const userId = await getSpotifyId();
+    if (!userId) return;
+    await axios.delete(`${API_BASE_URL}/api/like/${userId}/tracks/${encodeURIComponent(track.id)}`);
     const likedSongs = await loadLikedSongs();
     const updatedLikedSongs = likedSongs.filter((song: { id: string; }) => song.id !== track.id);
     await saveLikedSongs(updatedLikedSongs);
@@ -150,6 +150,7 @@ export interface RecommendationReq {
     artistGenres: string;
     albumImageUrl: string;
     createDt: string;
+    resultId?: string | null; // 같은 시드의 저장된 결과가 있으면 그 추천 id
 }
 // 이력 트랙을 스포티파이 트랙으로
 export function convertToSpotifyTrack(track: SpotifyTrack2): SpotifyTrack {